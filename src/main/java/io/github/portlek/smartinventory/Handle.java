@@ -26,12 +26,22 @@
 package io.github.portlek.smartinventory;
 
 import io.github.portlek.smartinventory.event.abs.SmartEvent;
+import io.github.portlek.smartinventory.handle.AsyncHandle;
 import io.github.portlek.smartinventory.handle.BasicHandle;
+import io.github.portlek.smartinventory.handle.ClickHandle;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
+import org.bukkit.event.inventory.ClickType;
+import org.bukkit.event.inventory.InventoryAction;
+import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * a class that handles and runs the given consumer after checking the requirements.
@@ -40,6 +50,29 @@ import org.jetbrains.annotations.NotNull;
  */
 public interface Handle<T extends SmartEvent> extends Consumer<T>, Type<T> {
 
+  /**
+   * creates a handler which runs the given function on the executor of the inventory manager.
+   * <p>
+   * the handler ignores the events of a contents while its future for that contents is running and applies the
+   * result on the main thread. the lock covers only this handler, the other handlers still run.
+   *
+   * @param clazz the class to determine the type of the event.
+   * @param function the function to run off the main thread.
+   * @param pending the item to show on the clicked slot while the future is running, {@code null} to keep the item.
+   * @param result the result consumer to run on the main thread.
+   * @param <T> type of the {@link SmartEvent}.
+   * @param <R> type of the result.
+   *
+   * @return an async handler instance.
+   */
+  @NotNull
+  static <T extends SmartEvent, R> Handle<T> async(@NotNull final Class<T> clazz,
+                                                   @NotNull final Function<T, CompletableFuture<R>> function,
+                                                   @Nullable final ItemStack pending,
+                                                   @NotNull final BiConsumer<T, R> result) {
+    return new AsyncHandle<>(clazz, function, pending, result);
+  }
+
   /**
    * creates a simple handler.
    *
@@ -72,4 +105,27 @@ public interface Handle<T extends SmartEvent> extends Consumer<T>, Type<T> {
                                                @NotNull final Predicate<T>... requirements) {
     return Handle.from(clazz, consumer, Arrays.asList(requirements));
   }
+
+  /**
+   * creates a simple handler which runs only for the given click types and inventory actions.
+   * <p>
+   * the click events are routed to the handler by their click type, so the handler is not visited for the other
+   * clicks.
+   *
+   * @param clazz the class to determine the type of the event.
+   * @param consumer the consumer to run.
+   * @param clicks the click types to run, empty for all the click types.
+   * @param actions the inventory actions to run, empty for all the inventory actions.
+   * @param requirements the requirements to check.
+   * @param <T> type of the {@link SmartEvent}.
+   *
+   * @return a simple click handler instance.
+   */
+  @NotNull
+  static <T extends SmartEvent> Handle<T> from(@NotNull final Class<T> clazz, @NotNull final Consumer<T> consumer,
+                                               @NotNull final Set<ClickType> clicks,
+                                               @NotNull final Set<InventoryAction> actions,
+                                               @NotNull final List<Predicate<T>> requirements) {
+    return new ClickHandle<>(Handle.from(clazz, consumer, requirements), clicks, actions);
+  }
 }
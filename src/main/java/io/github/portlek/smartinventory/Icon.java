@@ -30,13 +30,21 @@ import io.github.portlek.smartinventory.event.abs.DragEvent;
 import io.github.portlek.smartinventory.event.abs.IconEvent;
 import io.github.portlek.smartinventory.event.abs.SmartEvent;
 import io.github.portlek.smartinventory.icon.BasicIcon;
+import io.github.portlek.smartinventory.util.PermissionCache;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import org.bukkit.Material;
+import org.bukkit.event.inventory.ClickType;
+import org.bukkit.event.inventory.InventoryAction;
 import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
 
@@ -117,6 +125,31 @@ public interface Icon {
    */
   <T extends IconEvent> void accept(@NotNull T event);
 
+  /**
+   * enables the per-viewer render cache of the icon until {@link #invalidate()} is called.
+   *
+   * @return {@code this}, for chained calls.
+   */
+  @NotNull
+  default Icon cache() {
+    return this.cache(0L, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * sets the time to live of the per-viewer render cache of the icon.
+   * <p>
+   * the result of the {@code canSee} predicate is cached per {@link InventoryContents}, which is one viewer of one
+   * opened page, so the repeated renders and interactions do not test it again until the result expires or
+   * {@link #invalidate()} is called. the results of the closed contents are dropped with them.
+   *
+   * @param ttl the time to live, zero to keep the results until {@link #invalidate()}, negative to disable the cache.
+   * @param unit the unit of the time to live.
+   *
+   * @return {@code this}, for chained calls.
+   */
+  @NotNull
+  Icon cache(long ttl, @NotNull TimeUnit unit);
+
   /**
    * calculates and returns the item of the icon.
    * tests the {@code canSee} with the given contents, and if it returns {@code true},
@@ -139,6 +172,20 @@ public interface Icon {
   @NotNull
   Icon canSee(@NotNull Predicate<InventoryContents> predicate);
 
+  /**
+   * sets the canSee value of the icon to the given permission requirement.
+   * <p>
+   * the permission checks are cached per player by {@link PermissionCache}.
+   *
+   * @param permission the permission to require.
+   *
+   * @return {@code this}, for chained calls.
+   */
+  @NotNull
+  default Icon canSee(@NotNull final String permission) {
+    return this.canSee(PermissionCache.of(permission));
+  }
+
   /**
    * sets the canUse value of the icon to the given predicate.
    *
@@ -149,6 +196,20 @@ public interface Icon {
   @NotNull
   Icon canUse(@NotNull Predicate<InventoryContents> predicate);
 
+  /**
+   * sets the canUse value of the icon to the given permission requirement.
+   * <p>
+   * the permission checks are cached per player by {@link PermissionCache}.
+   *
+   * @param permission the permission to require.
+   *
+   * @return {@code this}, for chained calls.
+   */
+  @NotNull
+  default Icon canUse(@NotNull final String permission) {
+    return this.canUse(PermissionCache.of(permission));
+  }
+
   /**
    * sets the fallback item of the icon to the given item.
    *
@@ -203,6 +264,27 @@ public interface Icon {
   @NotNull
   Icon handles(@NotNull Collection<Handle<? extends IconEvent>> handles);
 
+  /**
+   * checks if there is a handle which runs for events of the given class.
+   * <p>
+   * the icons which have no handle for an event are decorative for it, so the event does not need to be created.
+   *
+   * @param type the event class to check.
+   *
+   * @return {@code true} if the icon has a handle for the event class.
+   */
+  boolean hasHandle(@NotNull Class<? extends IconEvent> type);
+
+  /**
+   * bumps the version of the render cache, so the cached results of all the viewers are calculated again.
+   * <p>
+   * this needs to be called when a state which the {@code canSee} predicate depends on was changed.
+   *
+   * @return {@code this}, for chained calls.
+   */
+  @NotNull
+  Icon invalidate();
+
   /**
    * sets the item of the icon to the given item.
    *
@@ -253,6 +335,72 @@ public interface Icon {
     return this.handle(ClickEvent.class, consumer, requirements);
   }
 
+  /**
+   * adds the given {@link ClickEvent} for the given click types to the icon's handles.
+   *
+   * @param clicks the click types to run, empty for all the click types.
+   * @param consumer the consumer to add.
+   *
+   * @return {@code this}, for chained calls.
+   */
+  @NotNull
+  default Icon whenClick(@NotNull final Set<ClickType> clicks, @NotNull final Consumer<ClickEvent> consumer) {
+    return this.whenClick(clicks, Collections.emptySet(), consumer);
+  }
+
+  /**
+   * adds the given {@link ClickEvent} for the given click types and inventory actions to the icon's handles.
+   *
+   * @param clicks the click types to run, empty for all the click types.
+   * @param actions the inventory actions to run, empty for all the inventory actions.
+   * @param consumer the consumer to add.
+   *
+   * @return {@code this}, for chained calls.
+   */
+  @NotNull
+  default Icon whenClick(@NotNull final Set<ClickType> clicks, @NotNull final Set<InventoryAction> actions,
+                         @NotNull final Consumer<ClickEvent> consumer) {
+    return this.handle(Handle.from(ClickEvent.class, consumer, clicks, actions, Collections.emptyList()));
+  }
+
+  /**
+   * adds the given function as an async {@link ClickEvent} to the icon's handles.
+   * <p>
+   * the function runs on {@link SmartInventory#getExecutor()}. until the result is applied on the main thread, only
+   * this handle is locked for the viewer's contents, it ignores the viewer's further clicks. the other handles of the
+   * icon, the other icons and the page handles still run.
+   *
+   * @param function the function to run off the main thread.
+   * @param result the result consumer to run on the main thread.
+   * @param <R> type of the result.
+   *
+   * @return {@code this}, for chained calls.
+   */
+  @NotNull
+  default <R> Icon whenClickAsync(@NotNull final Function<ClickEvent, CompletableFuture<R>> function,
+                                  @NotNull final BiConsumer<ClickEvent, R> result) {
+    return this.handle(Handle.async(ClickEvent.class, function, null, result));
+  }
+
+  /**
+   * adds the given function as an async {@link ClickEvent} to the icon's handles.
+   * <p>
+   * the clicked slot shows the given pending item until the result is applied on the main thread.
+   *
+   * @param pending the item to show while the function is running.
+   * @param function the function to run off the main thread.
+   * @param result the result consumer to run on the main thread.
+   * @param <R> type of the result.
+   *
+   * @return {@code this}, for chained calls.
+   */
+  @NotNull
+  default <R> Icon whenClickAsync(@NotNull final ItemStack pending,
+                                  @NotNull final Function<ClickEvent, CompletableFuture<R>> function,
+                                  @NotNull final BiConsumer<ClickEvent, R> result) {
+    return this.handle(Handle.async(ClickEvent.class, function, pending, result));
+  }
+
   /**
    * adds the given {@link DragEvent} to the icon's handles.
    *
@@ -28,6 +28,7 @@ package io.github.portlek.smartinventory;
 import com.google.common.base.Preconditions;
 import io.github.portlek.smartinventory.content.BasicSlotIterator;
 import io.github.portlek.smartinventory.util.Pattern;
+import io.github.portlek.smartinventory.util.SlotMask;
 import io.github.portlek.smartinventory.util.SlotPos;
 import java.util.ArrayList;
 import java.util.List;
@@ -69,10 +70,11 @@ public interface InventoryContents {
    */
   @NotNull
   default InventoryContents add(@NotNull final Icon item) {
-    final var all = this.all();
-    for (var row = 0; row < all.length; row++) {
-      for (var column = 0; column < all[0].length; column++) {
-        if (all[row][column] == null) {
+    final var rows = this.page().row();
+    final var columns = this.page().column();
+    for (var row = 0; row < rows; row++) {
+      for (var column = 0; column < columns; column++) {
+        if (this.peek(row, column) == null) {
           this.set(row, column, item);
           return this;
         }
@@ -89,6 +91,9 @@ public interface InventoryContents {
    * item in the corresponding slot.
    *
    * @return the items of the inventory.
+   *
+   * @see #peek(int, int) to read a single slot without copying.
+   * @see #view() to read all the slots without copying.
    */
   @NotNull
   Icon[][] all();
@@ -143,6 +148,35 @@ public interface InventoryContents {
       this.get(row, column).ifPresent(apply));
   }
 
+  /**
+   * binds {@code this} to the given inventory which is the live view of the player.
+   * <p>
+   * the slot changes are written into the bound inventory only. the slots which were set after the inventory was
+   * filled, such as by the open handles, are flushed into the bound inventory.
+   *
+   * @param inventory the inventory to bind, {@code null} to unbind.
+   */
+  void bind(@Nullable Inventory inventory);
+
+  /**
+   * runs the given consumer in bulk mode.
+   * <p>
+   * the slot changes which are made in the consumer are gathered and applied to the inventory at once when the
+   * consumer returns. bulk calls can be nested, the changes are applied when the outermost one returns.
+   * <p>
+   * off the main thread, the changes are published to the main thread as one frame when the outermost call returns,
+   * and discarded if the consumer throws.
+   *
+   * @param consumer the consumer to run.
+   *
+   * @return {@code this}, for chained calls.
+   */
+  @NotNull
+  default InventoryContents bulk(@NotNull final Consumer<InventoryContents> consumer) {
+    consumer.accept(this);
+    return this;
+  }
+
   /**
    * fills the inventory with the given item.
    *
@@ -152,13 +186,15 @@ public interface InventoryContents {
    */
   @NotNull
   default InventoryContents fill(@NotNull final Icon item) {
-    final var all = this.all();
-    for (var row = 0; row < all.length; row++) {
-      for (var column = 0; column < all[row].length; column++) {
-        this.set(row, column, item);
+    final var rows = this.page().row();
+    final var columns = this.page().column();
+    return this.bulk(contents -> {
+      for (var row = 0; row < rows; row++) {
+        for (var column = 0; column < columns; column++) {
+          contents.set(row, column, item);
+        }
       }
-    }
-    return this;
+    });
   }
 
   /**
@@ -184,13 +220,11 @@ public interface InventoryContents {
    */
   @NotNull
   default InventoryContents fillColumn(final int column, @NotNull final Icon item) {
-    final var all = this.all();
-    if (column < 0 || column >= all[0].length) {
+    if (column < 0 || column >= this.page().column()) {
       return this;
     }
-    IntStream.range(0, all.length).forEach(row ->
-      this.set(row, column, item));
-    return this;
+    return this.bulk(contents -> IntStream.range(0, contents.page().row()).forEach(row ->
+      contents.set(row, column, item)));
   }
 
   /**
@@ -202,16 +236,18 @@ public interface InventoryContents {
    */
   @NotNull
   default InventoryContents fillEmpties(@NotNull final Icon item) {
-    final var all = this.all();
-    for (var row = 0; row < all.length; row++) {
-      for (var column = 0; column < all[row].length; column++) {
-        final var icon = all[row][column];
-        if (icon == null || icon.getItem().getType() == Material.AIR) {
-          this.set(row, column, item);
+    final var rows = this.page().row();
+    final var columns = this.page().column();
+    return this.bulk(contents -> {
+      for (var row = 0; row < rows; row++) {
+        for (var column = 0; column < columns; column++) {
+          final var icon = contents.peek(row, column);
+          if (icon == null || icon.getItem().getType() == Material.AIR) {
+            contents.set(row, column, item);
+          }
         }
       }
-    }
-    return this;
+    });
   }
 
   /**
@@ -270,15 +306,16 @@ public interface InventoryContents {
   @NotNull
   default InventoryContents fillPattern(@NotNull final Pattern<Icon> pattern, final int startRow,
                                         final int startColumn) {
-    for (var row = 0; row < pattern.getRowCount(); row++) {
-      for (var column = 0; column < pattern.getColumnCount(); column++) {
-        final var finalRow = startRow + row;
-        final var finalColumn = startColumn + column;
-        pattern.getObject(row, column).ifPresent(icon ->
-          this.set(finalRow, finalColumn, icon));
+    return this.bulk(contents -> {
+      for (var row = 0; row < pattern.getRowCount(); row++) {
+        for (var column = 0; column < pattern.getColumnCount(); column++) {
+          final var finalRow = startRow + row;
+          final var finalColumn = startColumn + column;
+          pattern.getObject(row, column).ifPresent(icon ->
+            contents.set(finalRow, finalColumn, icon));
+        }
       }
-    }
-    return this;
+    });
   }
 
   /**
@@ -402,15 +439,16 @@ public interface InventoryContents {
       "The start column needs to be lower than the end column");
     final var rowDelta = endRow - startRow;
     final var columnDelta = endColumn - startColumn;
-    for (var row = 0; row <= rowDelta; row++) {
-      for (var column = 0; column <= columnDelta; column++) {
-        final var finalRow = startRow + row;
-        final var finalColumn = startColumn + column;
-        pattern.getObject(row, column).ifPresent(icon ->
-          this.set(finalRow, finalColumn, icon));
+    return this.bulk(contents -> {
+      for (var row = 0; row <= rowDelta; row++) {
+        for (var column = 0; column <= columnDelta; column++) {
+          final var finalRow = startRow + row;
+          final var finalColumn = startColumn + column;
+          pattern.getObject(row, column).ifPresent(icon ->
+            contents.set(finalRow, finalColumn, icon));
+        }
       }
-    }
-    return this;
+    });
   }
 
   /**
@@ -484,12 +522,12 @@ public interface InventoryContents {
   @NotNull
   default InventoryContents fillRect(final int fromRow, final int fromColumn, final int toRow, final int toColumn,
                                      @NotNull final Icon item) {
-    return this.applyRect(fromRow, fromColumn, toRow, toColumn, (row, column) -> {
+    return this.bulk(contents -> contents.applyRect(fromRow, fromColumn, toRow, toColumn, (row, column) -> {
       if (row == fromRow || row == toRow ||
         column == fromColumn || column == toColumn) {
-        this.set(row, column, item);
+        contents.set(row, column, item);
       }
-    });
+    }));
   }
 
   /**
@@ -520,13 +558,11 @@ public interface InventoryContents {
    */
   @NotNull
   default InventoryContents fillRow(final int row, @NotNull final Icon item) {
-    final var all = this.all();
-    if (row < 0 || row >= all.length) {
+    if (row < 0 || row >= this.page().row()) {
       return this;
     }
-    IntStream.range(0, all[row].length).forEach(column ->
-      this.set(row, column, item));
-    return this;
+    return this.bulk(contents -> IntStream.range(0, contents.page().column()).forEach(column ->
+      contents.set(row, column, item)));
   }
 
   /**
@@ -565,12 +601,13 @@ public interface InventoryContents {
       "The start row needs to be lower than the end row");
     Preconditions.checkArgument(fromColumn < toColumn,
       "The start column needs to be lower than the end column");
-    for (int row = fromRow; row <= toRow; row++) {
-      for (int column = fromColumn; column <= toColumn; column++) {
-        this.set(row, column, item);
+    return this.bulk(contents -> {
+      for (int row = fromRow; row <= toRow; row++) {
+        for (int column = fromColumn; column <= toColumn; column++) {
+          contents.set(row, column, item);
+        }
       }
-    }
-    return this;
+    });
   }
 
   /**
@@ -600,16 +637,11 @@ public interface InventoryContents {
    */
   @NotNull
   default Optional<SlotPos> findItem(@NotNull final ItemStack item) {
-    final var all = this.all();
-    for (var row = 0; row < all.length; row++) {
-      for (var column = 0; column < all[0].length; column++) {
-        final var icon = all[row][column];
-        if (icon != null && item.isSimilar(icon.calculateItem(this))) {
-          return Optional.of(SlotPos.of(row, column));
-        }
-      }
+    final var packed = this.findItemPacked(item);
+    if (packed == -1) {
+      return Optional.empty();
     }
-    return Optional.empty();
+    return Optional.of(SlotPos.unpack(packed));
   }
 
   /**
@@ -627,6 +659,28 @@ public interface InventoryContents {
     return this.findItem(item.calculateItem(this));
   }
 
+  /**
+   * same as {@link InventoryContents#findItem(ItemStack)},
+   * but returns the position packed with {@link SlotPos#pack(int, int)}.
+   *
+   * @param item the item to look for.
+   *
+   * @return the packed position where the item first occurred, or {@code -1}.
+   */
+  default int findItemPacked(@NotNull final ItemStack item) {
+    final var rows = this.page().row();
+    final var columns = this.page().column();
+    for (var row = 0; row < rows; row++) {
+      for (var column = 0; column < columns; column++) {
+        final var icon = this.peek(row, column);
+        if (icon != null && item.isSimilar(icon.calculateItem(this))) {
+          return SlotPos.pack(row, column);
+        }
+      }
+    }
+    return -1;
+  }
+
   /**
    * returns the position of the first empty slot
    * in the inventory, or {@code Optional.empty()} if
@@ -636,15 +690,30 @@ public interface InventoryContents {
    */
   @NotNull
   default Optional<SlotPos> firstEmpty() {
-    final var all = this.all();
-    for (var row = 0; row < all.length; row++) {
-      for (var column = 0; column < all[0].length; column++) {
-        if (this.get(row, column).isEmpty()) {
-          return Optional.of(SlotPos.of(row, column));
+    final var packed = this.firstEmptyPacked();
+    if (packed == -1) {
+      return Optional.empty();
+    }
+    return Optional.of(SlotPos.unpack(packed));
+  }
+
+  /**
+   * same as {@link InventoryContents#firstEmpty()},
+   * but returns the position packed with {@link SlotPos#pack(int, int)}.
+   *
+   * @return the packed position of the first empty slot, or {@code -1} if there is no free slot.
+   */
+  default int firstEmptyPacked() {
+    final var rows = this.page().row();
+    final var columns = this.page().column();
+    for (var row = 0; row < rows; row++) {
+      for (var column = 0; column < columns; column++) {
+        if (this.peek(row, column) == null) {
+          return SlotPos.pack(row, column);
         }
       }
     }
-    return Optional.empty();
+    return -1;
   }
 
   /**
@@ -658,8 +727,7 @@ public interface InventoryContents {
    */
   @NotNull
   default Optional<Icon> get(final int index) {
-    final var count = this.page().column();
-    return this.get(index / count, index % count);
+    return Optional.ofNullable(this.peek(index));
   }
 
   /**
@@ -673,14 +741,7 @@ public interface InventoryContents {
    */
   @NotNull
   default Optional<Icon> get(final int row, final int column) {
-    final var all = this.all();
-    if (row < 0 || row >= all.length) {
-      return Optional.empty();
-    }
-    if (column < 0 || column >= all[row].length) {
-      return Optional.empty();
-    }
-    return Optional.ofNullable(all[row][column]);
+    return Optional.ofNullable(this.peek(row, column));
   }
 
   /**
@@ -696,6 +757,15 @@ public interface InventoryContents {
     return this.get(slotPos.getRow(), slotPos.getColumn());
   }
 
+  /**
+   * writes the changed slots into the bound inventory.
+   * <p>
+   * the changes are flushed at the end of the tick, so this needs to be called only if the changes have to be seen
+   * immediately. the changes which were made off the main thread are applied first, so this must be called on the
+   * main thread.
+   */
+  void flush();
+
   /**
    * gets player's bottom of the inventory.
    *
@@ -757,6 +827,25 @@ public interface InventoryContents {
     return this.player().getOpenInventory().getTopInventory();
   }
 
+  /**
+   * checks if {@code this} is the live view of the player.
+   *
+   * @return {@code true} if {@code this} is bound to an inventory.
+   */
+  boolean isBound();
+
+  /**
+   * returns if the slot at the given slot index is editable or not.
+   *
+   * @param index the slot index to check.
+   *
+   * @return {@code true} if the editable.
+   */
+  default boolean isEditable(final int index) {
+    final var count = this.page().column();
+    return this.isEditable(SlotPos.of(index / count, index % count));
+  }
+
   /**
    * returns if a given slot is editable or not.
    *
@@ -909,10 +998,11 @@ public interface InventoryContents {
    * @param item the item as an ItemStack that shall be removed from the inventory.
    */
   default void removeAll(@NotNull final ItemStack item) {
-    final var all = this.all();
-    for (var row = 0; row < all.length; row++) {
-      for (var column = 0; column < all[row].length; column++) {
-        final var icon = all[row][column];
+    final var rows = this.page().row();
+    final var columns = this.page().column();
+    for (var row = 0; row < rows; row++) {
+      for (var column = 0; column < columns; column++) {
+        final var icon = this.peek(row, column);
         if (icon != null && item.isSimilar(icon.getItem())) {
           this.set(row, column, null);
         }
@@ -942,10 +1032,11 @@ public interface InventoryContents {
    * @param amount the amount that shall be removed.
    */
   default void removeAmount(@NotNull final ItemStack item, int amount) {
-    final var all = this.all();
-    for (var row = 0; row < all.length; row++) {
-      for (var column = 0; column < all[row].length; column++) {
-        final var icon = all[row][column];
+    final var rows = this.page().row();
+    final var columns = this.page().column();
+    for (var row = 0; row < rows; row++) {
+      for (var column = 0; column < columns; column++) {
+        final var icon = this.peek(row, column);
         if (icon != null && !item.isSimilar(icon.getItem())) {
           continue;
         }
@@ -1010,6 +1101,47 @@ public interface InventoryContents {
     this.removeFirst(item.getItem());
   }
 
+  /**
+   * returns the item in the inventory at the given slot index without wrapping it into an {@link Optional}.
+   *
+   * @param index the slot index.
+   *
+   * @return the found item, or {@code null} if the slot is empty or if the index is out of bounds.
+   */
+  @Nullable
+  default Icon peek(final int index) {
+    final var count = this.page().column();
+    if (index < 0) {
+      return null;
+    }
+    return this.peek(index / count, index % count);
+  }
+
+  /**
+   * same as {@link InventoryContents#peek(int)},
+   * but with a row and a column instead of the index.
+   *
+   * @param row the row to get.
+   * @param column the column to get.
+   *
+   * @return the found item, or {@code null} if the slot is empty or if the position is out of bounds.
+   */
+  @Nullable
+  Icon peek(int row, int column);
+
+  /**
+   * same as {@link InventoryContents#peek(int)},
+   * but with a position packed with {@link SlotPos#pack(int, int)} instead of the index.
+   *
+   * @param packed the packed position to get.
+   *
+   * @return the found item, or {@code null} if the slot is empty or if the position is out of bounds.
+   */
+  @Nullable
+  default Icon peekPacked(final int packed) {
+    return this.peek(SlotPos.unpackRow(packed), SlotPos.unpackColumn(packed));
+  }
+
   /**
    * re open the current page.
    */
@@ -1059,6 +1191,20 @@ public interface InventoryContents {
   @NotNull
   InventoryContents set(int row, int column, @Nullable Icon item);
 
+  /**
+   * same as {@link InventoryContents#set(int, Icon)},
+   * but with a position packed with {@link SlotPos#pack(int, int)} instead of the index.
+   *
+   * @param packed the packed position to set.
+   * @param item the item to set.
+   *
+   * @return {@code this}, for chained calls.
+   */
+  @NotNull
+  default InventoryContents setPacked(final int packed, @Nullable final Icon item) {
+    return this.set(SlotPos.unpackRow(packed), SlotPos.unpackColumn(packed), item);
+  }
+
   /**
    * makes a slot editable, which enables the player to
    * put items in and take items out of the inventory in the
@@ -1085,6 +1231,25 @@ public interface InventoryContents {
    */
   InventoryContents setEditable(@NotNull SlotPos slot, boolean editable);
 
+  /**
+   * makes all the slots of the given mask editable or 'static' again.
+   * <p>
+   * the slot indexes of the mask are in the column layout of the page, so the mask has to be built with
+   * {@link Page#column()}, e.g. {@code SlotMask.rect(0, 0, 1, 2, contents.page().column())}.
+   *
+   * @param mask the slots to set editable.
+   * @param editable {@code true} to make the slots editable, {@code false}
+   *   to make them 'static' again.
+   *
+   * @return {@code this}, for chained calls.
+   */
+  @NotNull
+  default InventoryContents setEditable(@NotNull final SlotMask mask, final boolean editable) {
+    final var count = this.page().column();
+    mask.forEach(slot -> this.setEditable(SlotPos.of(slot / count, slot % count), editable));
+    return this;
+  }
+
   /**
    * sets the value of the property with the given name.
    * <p>
@@ -1107,9 +1272,10 @@ public interface InventoryContents {
   @NotNull
   default List<SlotPos> slots() {
     final var position = new ArrayList<SlotPos>();
-    final var all = this.all();
-    for (var row = 0; row < all.length; row++) {
-      for (var column = 0; column < all[0].length; column++) {
+    final var rows = this.page().row();
+    final var columns = this.page().column();
+    for (var row = 0; row < rows; row++) {
+      for (var column = 0; column < columns; column++) {
         position.add(SlotPos.of(row, column));
       }
     }
@@ -1122,4 +1288,16 @@ public interface InventoryContents {
    * @param newTitle the new title to update.
    */
   void updateTitle(@NotNull String newTitle);
+
+  /**
+   * returns a read-only view of all the items of the inventory.
+   * <p>
+   * the view is backed by the contents, so it reflects the later changes and does not copy anything. the items are
+   * ordered row for row from left to right, so the index of an item is its slot index. the items can be null when
+   * there is no item in the corresponding slot.
+   *
+   * @return the read-only view of the items.
+   */
+  @NotNull
+  List<Icon> view();
 }
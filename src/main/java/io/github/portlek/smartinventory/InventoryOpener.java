@@ -41,18 +41,21 @@ public interface InventoryOpener {
    * @param contents the contents to fill.
    */
   default void fill(@NotNull final Inventory inventory, @NotNull final InventoryContents contents) {
-    final var items = contents.all();
-    for (var row = 0; row < items.length; row++) {
-      for (var column = 0; column < items[row].length; column++) {
-        if (items[row][column] != null) {
-          inventory.setItem(9 * row + column, items[row][column].calculateItem(contents));
-        }
+    final var items = contents.view();
+    for (var slot = 0; slot < items.size(); slot++) {
+      final var item = items.get(slot);
+      if (item != null) {
+        inventory.setItem(slot, item.calculateItem(contents));
       }
     }
   }
 
   /**
    * opens the page for the given player.
+   * <p>
+   * the page registers the returned inventory with {@link SmartInventory#registerHolder(Inventory, SmartHolder)},
+   * binds the contents to it and sets the player as a viewer, if the player sees it after this returns. the openers
+   * which want the listeners to recognise the inventory in its open event need to register it before they open it.
    *
    * @param contents the contents to open.
    *
@@ -39,9 +39,14 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.ClickType;
 import org.bukkit.inventory.Inventory;
 import org.jetbrains.annotations.NotNull;
 
@@ -90,6 +95,9 @@ public interface Page {
 
   /**
    * sets the task's async status.
+   * <p>
+   * the ticks of the async pages run on {@link SmartInventory#getExecutor()}, the slots which are set by them are
+   * applied on the main thread in one batch.
    *
    * @param async the async to set.
    *
@@ -171,6 +179,26 @@ public interface Page {
   @NotNull
   Page column(int column);
 
+  /**
+   * obtains status of the full resync after the cancelled clicks.
+   *
+   * @return {@code true} if the whole inventory is updated after the cancelled clicks.
+   */
+  boolean fullResync();
+
+  /**
+   * sets the full resync status.
+   * <p>
+   * if it is {@code false}, only the clicked slot and the cursor are sent to the player after a cancelled click,
+   * unless the click could touch multiple slots.
+   *
+   * @param fullResync the full resync to set.
+   *
+   * @return {@code this}, for chained calls.
+   */
+  @NotNull
+  Page fullResync(boolean fullResync);
+
   /**
    * adds the given consumer.
    *
@@ -197,6 +225,15 @@ public interface Page {
    */
   @NotNull <T extends PageEvent> Page handle(@NotNull Handle<T> handle);
 
+  /**
+   * checks if there is a handle which runs for events of the given class.
+   *
+   * @param type the event class to check.
+   *
+   * @return {@code true} if the page has a handle for the event class.
+   */
+  boolean hasHandle(@NotNull Class<? extends PageEvent> type);
+
   /**
    * sets the id of the page.
    *
@@ -462,6 +499,39 @@ public interface Page {
     return this.handle(BottomClickEvent.class, consumer, requirements);
   }
 
+  /**
+   * adds the given consumer as a bottom inventory click event for the given click types.
+   *
+   * @param clicks the click types to run, empty for all the click types.
+   * @param consumer the consumer to add.
+   *
+   * @return {@code this}, for chained calls.
+   */
+  @NotNull
+  default Page whenBottomClick(@NotNull final Set<ClickType> clicks,
+                               @NotNull final Consumer<BottomClickEvent> consumer) {
+    return this.handle(Handle.from(BottomClickEvent.class, consumer, clicks, Collections.emptySet(),
+      Collections.emptyList()));
+  }
+
+  /**
+   * adds the given function as a bottom inventory click event which runs on {@link SmartInventory#getExecutor()}.
+   * <p>
+   * until the result is applied on the main thread, only this handle is locked for the viewer's contents, it ignores
+   * the viewer's further events. the other handles of the page and the icons still run.
+   *
+   * @param function the function to run off the main thread.
+   * @param result the result consumer to run on the main thread.
+   * @param <R> type of the result.
+   *
+   * @return {@code this}, for chained calls.
+   */
+  @NotNull
+  default <R> Page whenBottomClickAsync(@NotNull final Function<BottomClickEvent, CompletableFuture<R>> function,
+                                        @NotNull final BiConsumer<BottomClickEvent, R> result) {
+    return this.handle(Handle.async(BottomClickEvent.class, function, null, result));
+  }
+
   /**
    * adds the given consumer as a close event.
    *
@@ -542,6 +612,39 @@ public interface Page {
     return this.handle(PageClickEvent.class, consumer, requirements);
   }
 
+  /**
+   * adds the given consumer as a empty slot click event for the given click types.
+   *
+   * @param clicks the click types to run, empty for all the click types.
+   * @param consumer the consumer to add.
+   *
+   * @return {@code this}, for chained calls.
+   */
+  @NotNull
+  default Page whenEmptyClick(@NotNull final Set<ClickType> clicks,
+                              @NotNull final Consumer<PageClickEvent> consumer) {
+    return this.handle(Handle.from(PageClickEvent.class, consumer, clicks, Collections.emptySet(),
+      Collections.emptyList()));
+  }
+
+  /**
+   * adds the given function as a empty slot click event which runs on {@link SmartInventory#getExecutor()}.
+   * <p>
+   * until the result is applied on the main thread, only this handle is locked for the viewer's contents, it ignores
+   * the viewer's further events. the other handles of the page and the icons still run.
+   *
+   * @param function the function to run off the main thread.
+   * @param result the result consumer to run on the main thread.
+   * @param <R> type of the result.
+   *
+   * @return {@code this}, for chained calls.
+   */
+  @NotNull
+  default <R> Page whenEmptyClickAsync(@NotNull final Function<PageClickEvent, CompletableFuture<R>> function,
+                                       @NotNull final BiConsumer<PageClickEvent, R> result) {
+    return this.handle(Handle.async(PageClickEvent.class, function, null, result));
+  }
+
   /**
    * adds the given consumer as a init event.
    *
@@ -661,6 +764,21 @@ public interface Page {
     return this.handle(OutsideClickEvent.class, consumer, requirements);
   }
 
+  /**
+   * adds the given consumer as a outside inventory click event for the given click types.
+   *
+   * @param clicks the click types to run, empty for all the click types.
+   * @param consumer the consumer to add.
+   *
+   * @return {@code this}, for chained calls.
+   */
+  @NotNull
+  default Page whenOutsideClick(@NotNull final Set<ClickType> clicks,
+                                @NotNull final Consumer<OutsideClickEvent> consumer) {
+    return this.handle(Handle.from(OutsideClickEvent.class, consumer, clicks, Collections.emptySet(),
+      Collections.emptyList()));
+  }
+
   /**
    * adds the given consumer as a tick event.
    *
@@ -25,6 +25,9 @@
 
 package io.github.portlek.smartinventory;
 
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -47,6 +50,10 @@ import org.jetbrains.annotations.NotNull;
  * either use the {@link Pagination#getPageIcons()} method, or directly
  * add the icons to your inventory with a {@link SlotIterator} and the
  * method {@link Pagination#addToIterator(SlotIterator)}.
+ * <p>
+ * instead of the icons, a {@link Source} can be set with {@link Pagination#setSource(Source)}. then only the icons of
+ * the current page are fetched from the source when they are needed, so the cost does not depend on the record count.
+ * the count and the current page's icons are cached until {@link Pagination#refresh()} is called or the page changes.
  */
 public interface Pagination {
 
@@ -78,6 +85,13 @@ public interface Pagination {
   @NotNull
   Pagination first();
 
+  /**
+   * gets the total count of the icons.
+   *
+   * @return the icon count.
+   */
+  int getIconCount();
+
   /**
    * gets the current page.
    *
@@ -107,7 +121,7 @@ public interface Pagination {
   /**
    * checks if the current page is the last page.
    * <p>
-   * this is equivalent to: {@code page == iconsCount / iconsPerPage}.
+   * this is equivalent to: {@code page >= (iconsCount - 1) / iconsPerPage}.
    *
    * @return {@code true} if this page is the last page.
    */
@@ -116,7 +130,7 @@ public interface Pagination {
   /**
    * sets the current page to the last page.
    * <p>
-   * this is equivalent to: {@code page(iconsCount / iconsPerPage)}.
+   * this is equivalent to: {@code page((iconsCount - 1) / iconsPerPage)}.
    *
    * @return {@code this}, for chained calls.
    */
@@ -151,8 +165,20 @@ public interface Pagination {
   @NotNull
   Pagination previous();
 
+  /**
+   * drops the cached icon count and the cached icons of the current page, so they are fetched from the source again.
+   * <p>
+   * this needs to be called when the records of the source were changed.
+   *
+   * @return {@code this}, for chained calls.
+   */
+  @NotNull
+  Pagination refresh();
+
   /**
    * sets all the icons for this Pagination.
+   * <p>
+   * this removes the source, if there is one.
    *
    * @param icons the icons.
    *
@@ -170,4 +196,89 @@ public interface Pagination {
    */
   @NotNull
   Pagination setIconsPerPage(int iconsPerPage);
+
+  /**
+   * sets the source which fetches the icons of the current page, instead of the icons.
+   *
+   * @param source the source to set.
+   *
+   * @return {@code this}, for chained calls.
+   */
+  @NotNull
+  Pagination setSource(@NotNull Source source);
+
+  /**
+   * sets a source from the given record count and range fetch functions.
+   * <p>
+   * only the records of the current page are fetched and turned into icons.
+   *
+   * @param count the count function of the records.
+   * @param fetch the function that fetches the given count of records from the given offset.
+   * @param mapper the function that turns a record into an icon.
+   * @param <T> type of the records.
+   *
+   * @return {@code this}, for chained calls.
+   */
+  @NotNull
+  default <T> Pagination setSource(@NotNull final IntSupplier count, @NotNull final Source.Fetch<T> fetch,
+                                   @NotNull final Function<T, Icon> mapper) {
+    return this.setSource(new Source() {
+      @Override
+      public int count() {
+        return count.getAsInt();
+      }
+
+      @NotNull
+      @Override
+      public Icon[] fetch(final int offset, final int limit) {
+        return fetch.fetch(offset, limit).stream()
+          .map(mapper)
+          .toArray(Icon[]::new);
+      }
+    });
+  }
+
+  /**
+   * an interface to determine lazy icon sources of paginations.
+   */
+  interface Source {
+
+    /**
+     * obtains the total count of the icons.
+     *
+     * @return icon count.
+     */
+    int count();
+
+    /**
+     * fetches the icons of the given range.
+     *
+     * @param offset the index of the first icon.
+     * @param limit the maximum count of the icons.
+     *
+     * @return the icons of the range, at most {@code limit} icons.
+     */
+    @NotNull
+    Icon[] fetch(int offset, int limit);
+
+    /**
+     * an interface to determine range fetch functions of the records.
+     *
+     * @param <T> type of the records.
+     */
+    @FunctionalInterface
+    interface Fetch<T> {
+
+      /**
+       * fetches the records of the given range.
+       *
+       * @param offset the index of the first record.
+       * @param limit the maximum count of the records.
+       *
+       * @return the records of the range.
+       */
+      @NotNull
+      List<T> fetch(int offset, int limit);
+    }
+  }
 }
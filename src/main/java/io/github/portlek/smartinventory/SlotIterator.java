@@ -26,6 +26,7 @@
 package io.github.portlek.smartinventory;
 
 import io.github.portlek.smartinventory.util.Pattern;
+import io.github.portlek.smartinventory.util.SlotMask;
 import io.github.portlek.smartinventory.util.SlotPos;
 import java.util.Optional;
 import org.jetbrains.annotations.NotNull;
@@ -97,6 +98,19 @@ public interface SlotIterator {
   @NotNull
   SlotIterator blacklist(int row, int column);
 
+  /**
+   * blacklists all the slots of the given mask.
+   * <p>
+   * the mask has to be built with the column count of the page, e.g.
+   * {@code SlotMask.row(row, contents.page().column())}.
+   *
+   * @param mask the slots to blacklist.
+   *
+   * @return {@code this}, for chained calls.
+   */
+  @NotNull
+  SlotIterator blacklist(@NotNull SlotMask mask);
+
   /**
    * this method has the inverse effect of {@link #withPattern(Pattern)}, where the other method would only allow the
    * iterator to go, this method prohibits this slots to iterate over.
@@ -212,6 +226,27 @@ public interface SlotIterator {
   @NotNull
   SlotIterator next();
 
+  /**
+   * gets the current position of the iterator packed with {@link SlotPos#pack(int, int)}.
+   *
+   * @return the current packed position.
+   */
+  default int packed() {
+    return SlotPos.pack(this.row(), this.column());
+  }
+
+  /**
+   * sets the current position of the iterator from a position packed with {@link SlotPos#pack(int, int)}.
+   *
+   * @param packed the new packed position.
+   *
+   * @return {@code this}, for chained calls.
+   */
+  @NotNull
+  default SlotIterator packed(final int packed) {
+    return this.row(SlotPos.unpackRow(packed)).column(SlotPos.unpackColumn(packed));
+  }
+
   /**
    * moves the cursor to the previous position inside the inventory.
    * <p>
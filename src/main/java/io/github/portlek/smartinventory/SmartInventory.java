@@ -25,13 +25,8 @@
 
 package io.github.portlek.smartinventory;
 
-import io.github.portlek.smartinventory.event.PgTickEvent;
-import io.github.portlek.smartinventory.listener.InventoryClickListener;
-import io.github.portlek.smartinventory.listener.InventoryCloseListener;
-import io.github.portlek.smartinventory.listener.InventoryDragListener;
-import io.github.portlek.smartinventory.listener.InventoryOpenListener;
-import io.github.portlek.smartinventory.listener.PlayerQuitListener;
-import io.github.portlek.smartinventory.listener.PluginDisableListener;
+import io.github.portlek.smartinventory.listener.ListenerDispatcher;
+import io.github.portlek.smartinventory.manager.ClickLimiter;
 import io.github.portlek.smartinventory.opener.ChestInventoryOpener;
 import java.util.Arrays;
 import java.util.Collection;
@@ -40,17 +35,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.function.Consumer;
-import java.util.function.Function;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
-import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
-import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryType;
-import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.Inventory;
 import org.bukkit.plugin.Plugin;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -64,17 +55,6 @@ public interface SmartInventory {
   List<InventoryOpener> DEFAULT_OPENERS = Collections.singletonList(
     new ChestInventoryOpener());
 
-  /**
-   * all listener to register.
-   */
-  Function<Consumer<UUID>, List<Listener>> LISTENERS = function -> Arrays.asList(
-    new InventoryClickListener(),
-    new InventoryOpenListener(),
-    new InventoryCloseListener(function),
-    new PlayerQuitListener(function),
-    new PluginDisableListener(),
-    new InventoryDragListener());
-
   /**
    * obtains the given {@code uniqueId}'s smart holder.
    *
@@ -84,8 +64,13 @@ public interface SmartInventory {
    */
   @NotNull
   static Optional<SmartHolder> getHolder(@NotNull final UUID uniqueId) {
-    return Optional.ofNullable(Bukkit.getPlayer(uniqueId))
-      .flatMap(SmartInventory::getHolder);
+    for (final var manager : ListenerDispatcher.getManagers()) {
+      final var holder = manager.getViewer(uniqueId);
+      if (holder.isPresent()) {
+        return holder;
+      }
+    }
+    return Optional.empty();
   }
 
   /**
@@ -97,25 +82,41 @@ public interface SmartInventory {
    */
   @NotNull
   static Optional<SmartHolder> getHolder(@NotNull final Player player) {
-    final InventoryHolder holder = player.getOpenInventory().getTopInventory().getHolder();
-    if (!(holder instanceof SmartHolder)) {
-      return Optional.empty();
-    }
-    return Optional.of((SmartHolder) holder)
-      .filter(SmartHolder::isActive);
+    return SmartInventory.getHolder(player.getUniqueId());
+  }
+
+  /**
+   * obtains the smart holder of the given inventory.
+   *
+   * @param inventory the inventory to obtain.
+   *
+   * @return smart holder, if the inventory is created by a manager.
+   */
+  @NotNull
+  static Optional<SmartHolder> getHolder(@NotNull final Inventory inventory) {
+    return ListenerDispatcher.getHolder(inventory);
   }
 
   /**
-   * obtains the smart holders of all the online players.
+   * obtains the initiated managers.
    *
-   * @return smart holders of online players.
+   * @return an unmodifiable view of the managers.
+   */
+  @NotNull
+  static Collection<SmartInventory> getManagers() {
+    return ListenerDispatcher.getManagers();
+  }
+
+  /**
+   * obtains the smart holders of all the players that see a page.
+   *
+   * @return smart holders of the viewers.
    */
   @NotNull
   static List<SmartHolder> getHolders() {
-    return Bukkit.getOnlinePlayers().stream()
-      .map(SmartInventory::getHolder)
-      .filter(Optional::isPresent)
-      .map(Optional::get)
+    return ListenerDispatcher.getManagers().stream()
+      .flatMap(manager -> manager.getViewers().values().stream())
+      .filter(SmartHolder::isActive)
       .collect(Collectors.toList());
   }
 
@@ -128,12 +129,26 @@ public interface SmartInventory {
    */
   @NotNull
   static List<Player> getOpenedPlayers(@NotNull final Page page) {
-    return SmartInventory.getHolders().stream()
-      .filter(holder -> page.id().equals(holder.getPage().id()))
+    final var id = page.id();
+    return ListenerDispatcher.getManagers().stream()
+      .flatMap(manager -> manager.getViewers(id).stream())
+      .filter(SmartHolder::isActive)
       .map(SmartHolder::getPlayer)
       .collect(Collectors.toList());
   }
 
+  /**
+   * registers the given inventory and its holder, so the listeners recognise the inventory.
+   * <p>
+   * the openers call this before they open the inventory, see {@link InventoryOpener#open(InventoryContents)}.
+   *
+   * @param inventory the inventory to register.
+   * @param holder the holder of the inventory.
+   */
+  static void registerHolder(@NotNull final Inventory inventory, @NotNull final SmartHolder holder) {
+    ListenerDispatcher.addInventory(inventory, holder);
+  }
+
   /**
    * runs {@link InventoryProvider#update(InventoryContents)} method of the player's page.
    *
@@ -151,9 +166,10 @@ public interface SmartInventory {
    * @param <T> type of the class.
    */
   static <T extends InventoryProvider> void notifyUpdateForAll(@NotNull final Class<T> provider) {
-    SmartInventory.getHolders().stream()
+    ListenerDispatcher.getManagers().stream()
+      .flatMap(manager -> manager.getViewers(provider).stream())
+      .filter(SmartHolder::isActive)
       .map(SmartHolder::getContents)
-      .filter(contents -> provider.equals(contents.page().provider().getClass()))
       .forEach(InventoryContents::notifyUpdate);
   }
 
@@ -163,10 +179,11 @@ public interface SmartInventory {
    * @param id the id to find and run the update method.
    */
   static void notifyUpdateForAllById(@NotNull final String id) {
-    SmartInventory.getHolders().stream()
-      .map(SmartHolder::getPage)
-      .filter(page -> page.id().equals(id))
-      .forEach(Page::notifyUpdateForAll);
+    ListenerDispatcher.getManagers().stream()
+      .flatMap(manager -> manager.getViewers(id).stream())
+      .filter(SmartHolder::isActive)
+      .map(SmartHolder::getContents)
+      .forEach(InventoryContents::notifyUpdate);
   }
 
   /**
@@ -184,6 +201,43 @@ public interface SmartInventory {
       .findFirst();
   }
 
+  /**
+   * obtains the click limiter which limits the icon clicks of the players.
+   *
+   * @return click limiter.
+   */
+  @NotNull
+  ClickLimiter getClickLimiter();
+
+  /**
+   * obtains how many contents flushes were deferred to a later server tick because of the tick budget.
+   *
+   * @return deferred flush count.
+   */
+  long getDeferredFlushes();
+
+  /**
+   * obtains how many page ticks were deferred to a later server tick because of the tick budget.
+   *
+   * @return deferred page tick count.
+   */
+  long getDeferredTicks();
+
+  /**
+   * obtains the executor which runs the async handles of the icons and the pages.
+   *
+   * @return executor.
+   */
+  @NotNull
+  Executor getExecutor();
+
+  /**
+   * obtains how many server ticks ran out of the tick budget.
+   *
+   * @return exhausted server tick count.
+   */
+  long getExhaustedTicks();
+
   /**
    * obtains inventory openers.
    *
@@ -201,31 +255,58 @@ public interface SmartInventory {
   Plugin getPlugin();
 
   /**
-   * obtains the given uniqueId's task.
+   * obtains the main thread time budget of the page ticks in a server tick.
+   *
+   * @return the budget in milliseconds, zero if there is no budget.
+   */
+  long getTickBudget();
+
+  /**
+   * obtains the given uniqueId's active smart holder.
    *
    * @param uniqueId the uniqueId to obtain.
    *
-   * @return a {@link BukkitRunnable} instance.
+   * @return smart holder.
    */
   @NotNull
-  default Optional<BukkitRunnable> getTask(@NotNull final UUID uniqueId) {
-    return Optional.ofNullable(this.getTasks().get(uniqueId));
+  default Optional<SmartHolder> getViewer(@NotNull final UUID uniqueId) {
+    return Optional.ofNullable(this.getViewers().get(uniqueId))
+      .filter(SmartHolder::isActive);
   }
 
   /**
-   * obtains the tasks.
+   * obtains the smart holders of the players that see a page of {@code this}.
    *
-   * @return tasks.
+   * @return viewers.
    */
   @NotNull
-  Map<UUID, BukkitRunnable> getTasks();
+  Map<UUID, SmartHolder> getViewers();
+
+  /**
+   * obtains the smart holders of the players that see a page called the given id.
+   *
+   * @param id the id to obtain.
+   *
+   * @return viewers of the page id.
+   */
+  @NotNull
+  Collection<SmartHolder> getViewers(@NotNull String id);
+
+  /**
+   * obtains the smart holders of the players that see a page of the given provider's class.
+   *
+   * @param provider the provider to obtain.
+   *
+   * @return viewers of the provider class.
+   */
+  @NotNull
+  Collection<SmartHolder> getViewers(@NotNull Class<? extends InventoryProvider> provider);
 
   /**
    * initiates the manager.
    */
   default void init() {
-    SmartInventory.LISTENERS.apply(this::stopTick).forEach(listener ->
-      Bukkit.getPluginManager().registerEvents(listener, this.getPlugin()));
+    ListenerDispatcher.register(this);
   }
 
   /**
@@ -238,35 +319,52 @@ public interface SmartInventory {
   }
 
   /**
-   * removes given uniqueId of the ticking task.
+   * removes the given holder of the given uniqueId from the viewers.
+   * <p>
+   * does nothing if the uniqueId sees another holder now.
    *
-   * @param uniqueId the uniqueId to set.
+   * @param uniqueId the uniqueId to remove.
+   * @param holder the holder to remove.
    */
-  default void removeTask(@NotNull final UUID uniqueId) {
-    this.getTasks().remove(uniqueId);
-  }
+  void removeViewer(@NotNull UUID uniqueId, @NotNull SmartHolder holder);
 
   /**
-   * sets the given player of the ticking task to the given task.
+   * queues the given contents to flush its changed slots at the end of the current tick.
    *
-   * @param uniqueId the unique id to set.
-   * @param task the task to set.
+   * @param contents the contents to flush.
    */
-  default void setTask(@NotNull final UUID uniqueId, @NotNull final BukkitRunnable task) {
-    this.getTasks().put(uniqueId, task);
-  }
+  void scheduleFlush(@NotNull InventoryContents contents);
+
+  /**
+   * sets the executor which runs the async handles of the icons and the pages.
+   *
+   * @param executor the executor to set.
+   */
+  void setExecutor(@NotNull Executor executor);
+
+  /**
+   * sets the main thread time budget of the page ticks in a server tick.
+   * <p>
+   * when the budget is spent, the remaining page ticks and contents flushes are deferred to the next server tick.
+   *
+   * @param millis the budget in milliseconds, zero or less to remove the budget.
+   */
+  void setTickBudget(long millis);
+
+  /**
+   * sets the given uniqueId's viewing holder.
+   *
+   * @param uniqueId the uniqueId to set.
+   * @param holder the holder to set.
+   */
+  void setViewer(@NotNull UUID uniqueId, @NotNull SmartHolder holder);
 
   /**
    * stops the ticking of the given uniqueId.
    *
    * @param uniqueId the uniqueId to stop.
    */
-  default void stopTick(@NotNull final UUID uniqueId) {
-    this.getTask(uniqueId).ifPresent(runnable -> {
-      Bukkit.getScheduler().cancelTask(runnable.getTaskId());
-      this.removeTask(uniqueId);
-    });
-  }
+  void stopTick(@NotNull UUID uniqueId);
 
   /**
    * starts the ticking of the given player with the given page.
@@ -274,25 +372,7 @@ public interface SmartInventory {
    * @param uniqueId the unique id to start.
    * @param page the page to start.
    */
-  default void tick(@NotNull final UUID uniqueId, @NotNull final Page page) {
-    final BukkitRunnable task = new BukkitRunnable() {
-      @Override
-      public void run() {
-        SmartInventory.getHolder(uniqueId)
-          .map(SmartHolder::getContents)
-          .ifPresent(contents -> {
-            page.accept(new PgTickEvent(contents));
-            page.provider().tick(contents);
-          });
-      }
-    };
-    this.setTask(uniqueId, task);
-    if (page.async()) {
-      task.runTaskTimerAsynchronously(this.getPlugin(), page.startDelay(), page.tick());
-    } else {
-      task.runTaskTimer(this.getPlugin(), page.startDelay(), page.tick());
-    }
-  }
+  void tick(@NotNull UUID uniqueId, @NotNull Page page);
 
   /**
    * unregisters the given inventory openers.
@@ -30,37 +30,74 @@ import io.github.portlek.smartinventory.InventoryContents;
 import io.github.portlek.smartinventory.Page;
 import io.github.portlek.smartinventory.Pagination;
 import io.github.portlek.smartinventory.SlotIterator;
-import io.github.portlek.smartinventory.SmartInventory;
+import io.github.portlek.smartinventory.util.SlotMask;
 import io.github.portlek.smartinventory.util.SlotPos;
 import io.github.portlek.smartinventory.util.TitleUpdater;
+import java.util.AbstractList;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import lombok.RequiredArgsConstructor;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
 import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 /**
  * an implementation for {@link InventoryContents}.
+ * <p>
+ * the slot changes are not written into the inventory directly, the changed slots are marked as dirty and written
+ * once at the end of the tick by {@link #flush()}. the slots which computed the same item that was written last time
+ * are not marked.
+ * <p>
+ * in bulk mode, the items are not calculated per {@link #set(int, int, Icon)} call, they are calculated once per slot
+ * and written into the inventory at once when the outermost {@link #bulk(Consumer)} call returns.
+ * <p>
+ * the icons are stored in a flat array which is indexed by the raw slot, the row and column methods convert the
+ * position into the slot index once and use the index methods.
+ * <p>
+ * the contents are double-buffered for the async pages. the main thread reads and writes the front buffer, which is
+ * what the client sees. the slots which are set off the main thread are calculated on the calling thread and
+ * published as frames which are merged into the pending frame atomically. the main thread diffs the pending frame
+ * against the rendered items in one batch when it flushes the contents, so the readers on the main thread always
+ * see a consistent snapshot and the writers never wait for the render.
+ * <p>
+ * a {@link #bulk(Consumer)} call off the main thread, such as the tick of an async page, writes into a back buffer
+ * of the calling thread and publishes it as one frame when the outermost call returns, or discards it if the
+ * consumer throws. the other slots which are set off the main thread are published one by one. each writer thread
+ * has its own back buffer, so the concurrent writers never contend with each other either.
  */
-@RequiredArgsConstructor
 public final class BasicInventoryContents implements InventoryContents {
 
   /**
-   * the contents.
+   * the back buffers of the writer threads which are in a bulk call.
    */
-  @Nullable
-  private final Icon[][] contents;
+  private final ThreadLocal<Back> back = new ThreadLocal<>();
+
+  /**
+   * the column count of the page.
+   */
+  private final int columns;
 
   /**
-   * the editable slots.
+   * the contents of the front buffer, indexed by the raw slot.
    */
-  private final Set<SlotPos> editableSlots = new HashSet<>();
+  @NotNull
+  private final Icon[] contents;
+
+  /**
+   * the computed items of the front buffer.
+   */
+  @NotNull
+  private final ItemStack[] items;
 
   /**
    * the iterators.
@@ -89,20 +126,174 @@ public final class BasicInventoryContents implements InventoryContents {
    */
   private final Map<String, Object> properties = new HashMap<>();
 
+  /**
+   * the frame which was published and not applied yet.
+   */
+  private final AtomicReference<Frame> published = new AtomicReference<>();
+
+  /**
+   * the items which were written into the inventory last time.
+   */
+  @NotNull
+  private final ItemStack[] rendered;
+
+  /**
+   * the read-only view of the contents.
+   */
+  @NotNull
+  private final List<Icon> view = new View();
+
+  /**
+   * the bulk depth.
+   */
+  private int depth;
+
+  /**
+   * the dirty slots, in the {@link SlotMask} bit layout.
+   */
+  private long dirty;
+
+  /**
+   * the editable slots, in the column layout of the page.
+   */
+  @NotNull
+  private SlotMask editable = SlotMask.EMPTY;
+
+  /**
+   * the bound inventory.
+   */
+  @Nullable
+  private volatile Inventory inventory;
+
+  /**
+   * the slots which were set in bulk mode, in the {@link SlotMask} bit layout.
+   */
+  private long pending;
+
+  /**
+   * the queued to flush.
+   */
+  private boolean queued;
+
   /**
    * ctor.
    *
+   * @param contents the contents.
+   * @param page the page.
+   * @param player the player.
+   */
+  public BasicInventoryContents(@NotNull final Icon[][] contents, @NotNull final Page page,
+                                @NotNull final Player player) {
+    this(page, player);
+    for (var row = 0; row < Math.min(contents.length, page.row()); row++) {
+      System.arraycopy(contents[row], 0, this.contents, row * this.columns, Math.min(contents[row].length,
+        this.columns));
+    }
+  }
+
+  /**
+   * ctor.
+   * <p>
+   * the slots are tracked with {@code long} bitmasks, so the page can have at most 64 slots.
+   *
    * @param page the page.
    * @param player the player
    */
   public BasicInventoryContents(@NotNull final Page page, @NotNull final Player player) {
-    this(new Icon[page.row()][page.column()], page, player);
+    if (page.row() * page.column() > Long.SIZE) {
+      throw new IllegalArgumentException(
+        String.format("The slot count of the page must be at most %s, found: %s.", Long.SIZE,
+          page.row() * page.column()));
+    }
+    this.page = page;
+    this.player = player;
+    this.columns = page.column();
+    this.contents = new Icon[page.row() * this.columns];
+    this.items = new ItemStack[this.contents.length];
+    this.rendered = new ItemStack[this.contents.length];
   }
 
   @NotNull
   @Override
   public Icon[][] all() {
-    return this.contents.clone();
+    final var all = new Icon[this.contents.length / this.columns][this.columns];
+    for (var row = 0; row < all.length; row++) {
+      System.arraycopy(this.contents, row * this.columns, all[row], 0, this.columns);
+    }
+    return all;
+  }
+
+  @NotNull
+  @Override
+  public InventoryContents bulk(@NotNull final Consumer<InventoryContents> consumer) {
+    if (!Bukkit.isPrimaryThread()) {
+      this.bulkOffMain(consumer);
+      return this;
+    }
+    this.depth++;
+    try {
+      consumer.accept(this);
+    } finally {
+      if (--this.depth == 0) {
+        this.commit();
+      }
+    }
+    return this;
+  }
+
+  @Override
+  public void bind(@Nullable final Inventory inventory) {
+    this.inventory = inventory;
+    this.dirty = 0L;
+    this.queued = false;
+    for (var slot = 0; slot < this.rendered.length; slot++) {
+      if (inventory == null) {
+        this.rendered[slot] = null;
+        continue;
+      }
+      this.rendered[slot] = Optional.ofNullable(inventory.getItem(slot))
+        .filter(item -> item.getType() != Material.AIR)
+        .map(ItemStack::clone)
+        .orElse(null);
+      final var item = this.items[slot];
+      final var computed = item == null || item.getType() == Material.AIR ? null : item;
+      if (!this.isEditable(slot) && !Objects.equals(computed, this.rendered[slot])) {
+        this.dirty |= 1L << slot;
+      }
+    }
+    if (this.dirty != 0L) {
+      this.queued = true;
+      this.page.inventory().scheduleFlush(this);
+    }
+  }
+
+  @Override
+  public void flush() {
+    this.apply();
+    this.queued = false;
+    final var bound = this.inventory;
+    if (bound == null) {
+      this.dirty = 0L;
+      return;
+    }
+    if (Long.bitCount(this.dirty) * 2 < this.items.length) {
+      for (var bits = this.dirty; bits != 0L; bits &= bits - 1L) {
+        final var slot = Long.numberOfTrailingZeros(bits);
+        final var item = this.items[slot];
+        bound.setItem(slot, item);
+        this.rendered[slot] = item == null ? null : item.clone();
+      }
+    } else {
+      final var array = bound.getContents();
+      for (var bits = this.dirty; bits != 0L; bits &= bits - 1L) {
+        final var slot = Long.numberOfTrailingZeros(bits);
+        final var item = this.items[slot];
+        array[slot] = item;
+        this.rendered[slot] = item == null ? null : item.clone();
+      }
+      bound.setContents(array);
+    }
+    this.dirty = 0L;
   }
 
   @NotNull
@@ -111,9 +302,22 @@ public final class BasicInventoryContents implements InventoryContents {
     return Collections.unmodifiableMap(this.properties);
   }
 
+  @Override
+  public boolean isBound() {
+    return this.inventory != null;
+  }
+
+  @Override
+  public boolean isEditable(final int index) {
+    return this.editable.contains(index);
+  }
+
   @Override
   public boolean isEditable(@NotNull final SlotPos slot) {
-    return this.editableSlots.contains(slot);
+    if (slot.getColumn() < 0 || slot.getColumn() >= this.columns) {
+      return false;
+    }
+    return this.isEditable(slot.getRow() * this.columns + slot.getColumn());
   }
 
   @NotNull
@@ -143,6 +347,34 @@ public final class BasicInventoryContents implements InventoryContents {
     return this.pagination;
   }
 
+  @Nullable
+  @Override
+  public Icon peek(final int index) {
+    if (index < 0 || index >= this.contents.length) {
+      return null;
+    }
+    if (!Bukkit.isPrimaryThread()) {
+      final var back = this.back.get();
+      if (back != null && (back.slots & 1L << index) != 0L) {
+        return back.contents[index];
+      }
+      final var frame = this.published.get();
+      if (frame != null && (frame.slots & 1L << index) != 0L) {
+        return frame.contents[index];
+      }
+    }
+    return this.contents[index];
+  }
+
+  @Nullable
+  @Override
+  public Icon peek(final int row, final int column) {
+    if (column < 0 || column >= this.columns) {
+      return null;
+    }
+    return this.peek(row * this.columns + column);
+  }
+
   @NotNull
   @Override
   public Player player() {
@@ -151,29 +383,65 @@ public final class BasicInventoryContents implements InventoryContents {
 
   @NotNull
   @Override
-  public InventoryContents set(final int row, final int column, @Nullable final Icon item) {
-    if (row < 0 || row >= this.contents.length) {
+  public InventoryContents set(final int index, @Nullable final Icon item) {
+    if (index < 0 || index >= this.contents.length) {
       return this;
     }
-    if (column < 0 || column >= this.contents[row].length) {
+    if (!Bukkit.isPrimaryThread()) {
+      final var calculated = item == null ? null : item.calculateItem(this);
+      final var back = this.back.get();
+      if (back != null) {
+        back.set(index, item, calculated);
+      } else {
+        final var single = new Back(this.contents.length);
+        single.set(index, item, calculated);
+        this.publish(single);
+      }
+      return this;
+    }
+    this.contents[index] = item;
+    if (this.depth > 0) {
+      this.pending |= 1L << index;
       return this;
     }
-    this.contents[row][column] = item;
     if (item == null) {
-      this.update(row, column, null);
+      this.update(index, null);
     } else {
-      this.update(row, column, item.calculateItem(this));
+      this.update(index, item.calculateItem(this));
     }
     return this;
   }
 
+  @NotNull
+  @Override
+  public InventoryContents set(final int row, final int column, @Nullable final Icon item) {
+    if (row < 0 || column < 0 || column >= this.columns) {
+      return this;
+    }
+    return this.set(row * this.columns + column, item);
+  }
+
   @NotNull
   @Override
   public InventoryContents setEditable(@NotNull final SlotPos slot, final boolean editable) {
+    if (slot.getRow() < 0 || slot.getColumn() < 0 || slot.getColumn() >= this.columns) {
+      return this;
+    }
+    final var index = slot.getRow() * this.columns + slot.getColumn();
+    if (index >= this.contents.length) {
+      return this;
+    }
+    return this.setEditable(SlotMask.slot(index), editable);
+  }
+
+  @NotNull
+  @Override
+  public InventoryContents setEditable(@NotNull final SlotMask mask, final boolean editable) {
     if (editable) {
-      this.editableSlots.add(slot);
+      final var slots = this.contents.length >= Long.SIZE ? -1L : (1L << this.contents.length) - 1L;
+      this.editable = this.editable.union(SlotMask.of(mask.getBits() & slots));
     } else {
-      this.editableSlots.remove(slot);
+      this.editable = this.editable.minus(mask);
     }
     return this;
   }
@@ -190,16 +458,224 @@ public final class BasicInventoryContents implements InventoryContents {
     TitleUpdater.updateInventory(this.player, newTitle);
   }
 
+  @NotNull
+  @Override
+  public List<Icon> view() {
+    return this.view;
+  }
+
+  /**
+   * swaps the published frame out and applies it into the front buffer.
+   */
+  private void apply() {
+    final var frame = this.published.getAndSet(null);
+    if (frame == null) {
+      return;
+    }
+    for (var bits = frame.slots; bits != 0L; bits &= bits - 1L) {
+      final var slot = Long.numberOfTrailingZeros(bits);
+      this.contents[slot] = frame.contents[slot];
+      this.update(slot, frame.items[slot]);
+    }
+  }
+
+  /**
+   * runs the given consumer with the back buffer of the calling thread, and publishes the buffer when the outermost
+   * call returns.
+   * <p>
+   * the buffer is discarded if the consumer throws, so a partial frame is never applied.
+   *
+   * @param consumer the consumer to run.
+   */
+  private void bulkOffMain(@NotNull final Consumer<InventoryContents> consumer) {
+    var back = this.back.get();
+    if (back == null) {
+      back = new Back(this.contents.length);
+      this.back.set(back);
+    }
+    back.depth++;
+    var completed = false;
+    try {
+      consumer.accept(this);
+      completed = true;
+    } finally {
+      if (--back.depth == 0) {
+        this.back.remove();
+        if (completed) {
+          this.publish(back);
+        }
+      }
+    }
+  }
+
+  /**
+   * calculates the items of the slots which were set in bulk mode and writes the changes into the inventory.
+   */
+  private void commit() {
+    for (var bits = this.pending; bits != 0L; bits &= bits - 1L) {
+      final var slot = Long.numberOfTrailingZeros(bits);
+      final var icon = this.contents[slot];
+      this.update(slot, icon == null ? null : icon.calculateItem(this));
+    }
+    this.pending = 0L;
+    if (this.inventory != null) {
+      this.flush();
+    }
+  }
+
+  /**
+   * merges the given back buffer into the pending frame and queues the contents to flush, if there was no pending
+   * frame.
+   *
+   * @param back the back buffer to publish.
+   */
+  private void publish(@NotNull final Back back) {
+    if (back.slots == 0L) {
+      return;
+    }
+    final var frame = new Frame(back.contents, back.items, back.slots);
+    if (this.published.getAndAccumulate(frame, Frame::merge) == null) {
+      this.page.inventory().scheduleFlush(this);
+    }
+  }
+
   /**
-   * updates row and column of the inventory to the given item.
+   * updates the slot of the inventory to the given item.
+   * <p>
+   * editable slots are always marked, since the player may have changed them.
    *
-   * @param row the row to update.
-   * @param column the column to update.
+   * @param slot the slot to update.
    * @param item the item to update.
    */
-  private void update(final int row, final int column, @Nullable final ItemStack item) {
-    if (SmartInventory.getOpenedPlayers(this.page).contains(this.player())) {
-      this.getTopInventory().setItem(this.page.column() * row + column, item);
+  private void update(final int slot, @Nullable final ItemStack item) {
+    this.items[slot] = item;
+    if (Objects.equals(item, this.rendered[slot]) && !this.isEditable(slot)) {
+      this.dirty &= ~(1L << slot);
+      return;
+    }
+    this.dirty |= 1L << slot;
+    if (!this.queued && this.inventory != null) {
+      this.queued = true;
+      this.page.inventory().scheduleFlush(this);
+    }
+  }
+
+  /**
+   * a class that represents back buffers of the writer threads.
+   */
+  private static final class Back {
+
+    /**
+     * the icons, indexed by the raw slot.
+     */
+    @NotNull
+    private final Icon[] contents;
+
+    /**
+     * the calculated items, indexed by the raw slot.
+     */
+    @NotNull
+    private final ItemStack[] items;
+
+    /**
+     * the bulk depth.
+     */
+    private int depth;
+
+    /**
+     * the written slots, in the {@link SlotMask} bit layout.
+     */
+    private long slots;
+
+    /**
+     * ctor.
+     *
+     * @param size the slot count.
+     */
+    private Back(final int size) {
+      this.contents = new Icon[size];
+      this.items = new ItemStack[size];
+    }
+
+    /**
+     * writes the given icon and its calculated item into the given slot.
+     *
+     * @param slot the slot to write.
+     * @param icon the icon to write.
+     * @param item the calculated item to write.
+     */
+    private void set(final int slot, @Nullable final Icon icon, @Nullable final ItemStack item) {
+      this.contents[slot] = icon;
+      this.items[slot] = item;
+      this.slots |= 1L << slot;
+    }
+  }
+
+  /**
+   * a class that represents complete frames of the back buffer.
+   */
+  @RequiredArgsConstructor
+  private static final class Frame {
+
+    /**
+     * the icons, indexed by the raw slot.
+     */
+    @NotNull
+    private final Icon[] contents;
+
+    /**
+     * the calculated items, indexed by the raw slot.
+     */
+    @NotNull
+    private final ItemStack[] items;
+
+    /**
+     * the written slots, in the {@link SlotMask} bit layout.
+     */
+    private final long slots;
+
+    /**
+     * merges the given newer frame over the given older frame.
+     * <p>
+     * the older frame is not applied yet if the writers publish faster than the main thread flushes.
+     *
+     * @param older the older frame to merge.
+     * @param newer the newer frame to merge.
+     *
+     * @return merged frame.
+     */
+    @NotNull
+    private static Frame merge(@Nullable final Frame older, @NotNull final Frame newer) {
+      if (older == null) {
+        return newer;
+      }
+      final var contents = older.contents.clone();
+      final var items = older.items.clone();
+      for (var bits = newer.slots; bits != 0L; bits &= bits - 1L) {
+        final var slot = Long.numberOfTrailingZeros(bits);
+        contents[slot] = newer.contents[slot];
+        items[slot] = newer.items[slot];
+      }
+      return new Frame(contents, items, older.slots | newer.slots);
+    }
+  }
+
+  /**
+   * a class that represents read-only views of the contents.
+   */
+  private final class View extends AbstractList<Icon> {
+
+    @Override
+    public Icon get(final int index) {
+      if (index < 0 || index >= this.size()) {
+        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size());
+      }
+      return BasicInventoryContents.this.contents[index];
+    }
+
+    @Override
+    public int size() {
+      return BasicInventoryContents.this.contents.length;
     }
   }
 }
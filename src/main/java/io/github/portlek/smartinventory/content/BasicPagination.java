@@ -29,12 +29,22 @@ import io.github.portlek.smartinventory.Icon;
 import io.github.portlek.smartinventory.Pagination;
 import java.util.Arrays;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * an implementation for {@link Pagination}.
+ * <p>
+ * if a source is set, the icons are not kept, only the current page's icons are fetched from the source. the icon
+ * count and the current page's icons are cached until the page, the page size or the source changes, or
+ * {@link #refresh()} is called, so the navigation calls of every update do not query the source again.
  */
 public final class BasicPagination implements Pagination {
 
+  /**
+   * the cached icon count of the source, negative if it is not cached.
+   */
+  private int count = -1;
+
   /**
    * the current page.
    */
@@ -51,11 +61,22 @@ public final class BasicPagination implements Pagination {
    */
   private int iconsPerPage = 5;
 
+  /**
+   * the cached icons of the current page from the source.
+   */
+  @Nullable
+  private Icon[] pageIcons;
+
+  /**
+   * the source.
+   */
+  @Nullable
+  private Source source;
+
   @NotNull
   @Override
   public Pagination first() {
-    this.currentPage = 0;
-    return this;
+    return this.page(0);
   }
 
   @Override
@@ -63,12 +84,32 @@ public final class BasicPagination implements Pagination {
     return this.currentPage;
   }
 
+  @Override
+  public int getIconCount() {
+    if (this.source == null) {
+      return this.icons.length;
+    }
+    if (this.count < 0) {
+      this.count = this.source.count();
+    }
+    return this.count;
+  }
+
   @NotNull
   @Override
   public Icon[] getPageIcons() {
-    return Arrays.copyOfRange(this.icons,
-      this.currentPage * this.iconsPerPage,
-      (this.currentPage + 1) * this.iconsPerPage);
+    final var offset = this.currentPage * this.iconsPerPage;
+    if (this.source == null) {
+      return Arrays.copyOfRange(this.icons, offset, offset + this.iconsPerPage);
+    }
+    if (this.pageIcons == null) {
+      if (this.iconsPerPage == 0) {
+        this.pageIcons = new Icon[0];
+      } else {
+        this.pageIcons = Arrays.copyOf(this.source.fetch(offset, this.iconsPerPage), this.iconsPerPage);
+      }
+    }
+    return this.pageIcons.clone();
   }
 
   @Override
@@ -78,20 +119,20 @@ public final class BasicPagination implements Pagination {
 
   @Override
   public boolean isLast() {
-    return this.currentPage >= (int) Math.ceil((double) this.icons.length / (double) this.iconsPerPage) - 1;
+    return this.currentPage >= this.lastPage();
   }
 
   @NotNull
   @Override
   public Pagination last() {
-    return this.page(this.getPageIcons().length / this.iconsPerPage);
+    return this.page(this.lastPage());
   }
 
   @NotNull
   @Override
   public Pagination next() {
     if (!this.isLast()) {
-      this.currentPage++;
+      this.page(this.currentPage + 1);
     }
     return this;
   }
@@ -99,7 +140,10 @@ public final class BasicPagination implements Pagination {
   @NotNull
   @Override
   public Pagination page(final int page) {
-    this.currentPage = page;
+    if (page != this.currentPage) {
+      this.currentPage = page;
+      this.pageIcons = null;
+    }
     return this;
   }
 
@@ -107,22 +151,52 @@ public final class BasicPagination implements Pagination {
   @Override
   public Pagination previous() {
     if (!this.isFirst()) {
-      this.currentPage--;
+      this.page(this.currentPage - 1);
     }
     return this;
   }
 
+  @NotNull
+  @Override
+  public Pagination refresh() {
+    this.count = -1;
+    this.pageIcons = null;
+    return this;
+  }
+
   @NotNull
   @Override
   public Pagination setIcons(@NotNull final Icon... icons) {
     this.icons = icons.clone();
-    return this;
+    this.source = null;
+    return this.refresh();
   }
 
   @NotNull
   @Override
   public Pagination setIconsPerPage(final int iconsPerPage) {
-    this.iconsPerPage = iconsPerPage;
+    this.iconsPerPage = Math.max(0, iconsPerPage);
+    this.pageIcons = null;
     return this;
   }
+
+  @NotNull
+  @Override
+  public Pagination setSource(@NotNull final Source source) {
+    this.source = source;
+    this.icons = new Icon[0];
+    return this.refresh();
+  }
+
+  /**
+   * calculates the index of the last page.
+   *
+   * @return the last page index, zero if there is no icon or the page size is zero.
+   */
+  private int lastPage() {
+    if (this.iconsPerPage == 0) {
+      return 0;
+    }
+    return Math.max(0, (this.getIconCount() - 1) / this.iconsPerPage);
+  }
 }
@@ -30,24 +30,19 @@ import io.github.portlek.smartinventory.Icon;
 import io.github.portlek.smartinventory.InventoryContents;
 import io.github.portlek.smartinventory.SlotIterator;
 import io.github.portlek.smartinventory.util.Pattern;
-import io.github.portlek.smartinventory.util.SlotPos;
-import java.util.HashSet;
+import io.github.portlek.smartinventory.util.SlotMask;
 import java.util.Optional;
-import java.util.Set;
-import java.util.concurrent.atomic.AtomicBoolean;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 
 /**
  * an implementation for {@link SlotIterator}.
+ * <p>
+ * the blacklisted slots and the patterns are kept as {@link SlotMask}s, the patterns are resolved into masks when
+ * they are set, so checking a slot does not allocate. the masks use the column count of the page, the same as
+ * the slot index which is checked.
  */
 public final class BasicSlotIterator implements SlotIterator {
 
-  /**
-   * the blacklisted.
-   */
-  private final Set<SlotPos> blacklisted = new HashSet<>();
-
   /**
    * the contents.
    */
@@ -76,20 +71,16 @@ public final class BasicSlotIterator implements SlotIterator {
   private boolean allowOverride = true;
 
   /**
-   * the blacklist pattern.
+   * the slots which are blacklisted by the blacklist pattern.
    */
-  @Nullable
-  private Pattern<Boolean> blacklistPattern;
-
-  /**
-   * the blacklist pattern column offset.
-   */
-  private int blacklistPatternColumnOffset;
+  @NotNull
+  private SlotMask blacklistPattern = SlotMask.EMPTY;
 
   /**
-   * the blacklist pattern row offset.
+   * the blacklisted.
    */
-  private int blacklistPatternRowOffset;
+  @NotNull
+  private SlotMask blacklisted = SlotMask.EMPTY;
 
   /**
    * the column.
@@ -107,20 +98,10 @@ public final class BasicSlotIterator implements SlotIterator {
   private int endRow;
 
   /**
-   * the pattern.
-   */
-  @Nullable
-  private Pattern<Boolean> pattern;
-
-  /**
-   * the pattern column offset.
-   */
-  private int patternColumnOffset;
-
-  /**
-   * the pattern row offset.
+   * the slots which are allowed by the pattern.
    */
-  private int patternRowOffset;
+  @NotNull
+  private SlotMask pattern = SlotMask.ALL;
 
   /**
    * the row.
@@ -172,15 +153,25 @@ public final class BasicSlotIterator implements SlotIterator {
   @NotNull
   @Override
   public SlotIterator blacklist(final int index) {
-    final int count = this.contents.page().column();
-    this.blacklisted.add(SlotPos.of(index / count, index % count));
+    if (index >= 0 && index < SlotMask.SIZE) {
+      this.blacklisted = this.blacklisted.with(index);
+    }
     return this;
   }
 
   @NotNull
   @Override
   public SlotIterator blacklist(final int row, final int column) {
-    this.blacklisted.add(SlotPos.of(row, column));
+    if (row < 0 || column < 0 || column >= this.contents.page().column()) {
+      return this;
+    }
+    return this.blacklist(row * this.contents.page().column() + column);
+  }
+
+  @NotNull
+  @Override
+  public SlotIterator blacklist(@NotNull final SlotMask mask) {
+    this.blacklisted = this.blacklisted.union(mask);
     return this;
   }
 
@@ -188,12 +179,11 @@ public final class BasicSlotIterator implements SlotIterator {
   @Override
   public SlotIterator blacklistPattern(@NotNull final Pattern<Boolean> pattern, final int rowOffset,
                                        final int columnOffset) {
-    this.blacklistPatternRowOffset = rowOffset;
-    this.blacklistPatternColumnOffset = columnOffset;
     if (pattern.getDefaultValue().isEmpty()) {
       pattern.setDefault(false);
     }
-    this.blacklistPattern = pattern;
+    final var page = this.contents.page();
+    this.blacklistPattern = pattern.mask(Boolean.TRUE::equals, rowOffset, columnOffset, page.row(), page.column());
     return this;
   }
 
@@ -241,7 +231,7 @@ public final class BasicSlotIterator implements SlotIterator {
   @NotNull
   @Override
   public Optional<Icon> get() {
-    return this.contents.get(this.row, this.column);
+    return Optional.ofNullable(this.contents.peek(this.row, this.column));
   }
 
   @NotNull
@@ -342,12 +332,11 @@ public final class BasicSlotIterator implements SlotIterator {
   @Override
   public SlotIterator withPattern(@NotNull final Pattern<Boolean> pattern, final int rowOffset,
                                   final int columnOffset) {
-    this.patternRowOffset = rowOffset;
-    this.patternColumnOffset = columnOffset;
     if (pattern.getDefaultValue().isEmpty()) {
       pattern.setDefault(false);
     }
-    this.pattern = pattern;
+    final var page = this.contents.page();
+    this.pattern = pattern.mask(Boolean.TRUE::equals, rowOffset, columnOffset, page.row(), page.column());
     return this;
   }
 
@@ -357,35 +346,10 @@ public final class BasicSlotIterator implements SlotIterator {
    * @return {@code true} if the item can place the current location.
    */
   private boolean canPlace() {
-    final var patternAllows = new AtomicBoolean(true);
-    Optional.ofNullable(this.pattern).ifPresent(booleanPattern ->
-      patternAllows.set(this.checkPattern(booleanPattern, this.patternRowOffset, this.patternColumnOffset)));
-    final var blacklistPatternAllows = new AtomicBoolean(true);
-    Optional.ofNullable(this.blacklistPattern).ifPresent(booleanPattern ->
-      blacklistPatternAllows.set(!this.checkPattern(booleanPattern, this.blacklistPatternRowOffset, this.blacklistPatternColumnOffset)));
-    return !this.blacklisted.contains(SlotPos.of(this.row, this.column)) &&
-      (this.allowOverride || this.get().isEmpty()) &&
-      patternAllows.get() &&
-      blacklistPatternAllows.get();
-  }
-
-  /**
-   * checks the pattern.
-   *
-   * @param pattern the pattern to check.
-   * @param rowOffset the raw offset to check.
-   * @param columnOffset the column offset to check.
-   *
-   * @return {@code true} if the checking was successful.
-   */
-  private boolean checkPattern(@NotNull final Pattern<Boolean> pattern, final int rowOffset, final int columnOffset) {
-    final var object = pattern.getObject(this.row() - rowOffset, this.column() - columnOffset);
-    if (pattern.isWrapAround()) {
-      return object.orElse(false);
-    }
-    return this.row() >= rowOffset && this.column() >= columnOffset &&
-      this.row() < pattern.getRowCount() + rowOffset &&
-      this.column() < pattern.getColumnCount() + columnOffset &&
-      object.orElse(false);
+    final var slot = this.row * this.contents.page().column() + this.column;
+    return !this.blacklisted.contains(slot) &&
+      !this.blacklistPattern.contains(slot) &&
+      this.pattern.contains(slot) &&
+      (this.allowOverride || this.contents.peek(slot) == null);
   }
 }
@@ -0,0 +1,71 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.smartinventory.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * a class that represents permission recalculate events.
+ * <p>
+ * bukkit has no event for the permission attachment changes, so the plugins which change the permissions of a player
+ * call this event to drop the player's {@link io.github.portlek.smartinventory.util.PermissionCache} results.
+ */
+@Getter
+@RequiredArgsConstructor
+public final class PermissionsRecalculateEvent extends Event {
+
+  /**
+   * the handler list.
+   */
+  private static final HandlerList HANDLERS = new HandlerList();
+
+  /**
+   * the player.
+   */
+  @NotNull
+  private final Player player;
+
+  /**
+   * obtains the handler list.
+   *
+   * @return handler list.
+   */
+  @NotNull
+  public static HandlerList getHandlerList() {
+    return PermissionsRecalculateEvent.HANDLERS;
+  }
+
+  @NotNull
+  @Override
+  public HandlerList getHandlers() {
+    return PermissionsRecalculateEvent.HANDLERS;
+  }
+}
@@ -0,0 +1,166 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.smartinventory.handle;
+
+import io.github.portlek.smartinventory.Handle;
+import io.github.portlek.smartinventory.Icon;
+import io.github.portlek.smartinventory.InventoryContents;
+import io.github.portlek.smartinventory.event.abs.ClickEvent;
+import io.github.portlek.smartinventory.event.abs.SmartEvent;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.logging.Level;
+import lombok.RequiredArgsConstructor;
+import org.bukkit.Bukkit;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * a {@link Handle} implementation that runs the given function on the executor of the inventory manager.
+ * <p>
+ * while the future of a contents is running, this handle ignores the other events of the same contents. the lock
+ * covers only this handle, the other handles of the icon or the page, and the other icons, still run. if a pending
+ * item is set, the clicked slot shows it with an icon which has no handles, so the further clicks on that slot do
+ * not reach any handle until the icon is put back. the result is applied on the main thread, unless the contents was
+ * closed in the meantime.
+ *
+ * @param <T> type of the event.
+ * @param <R> type of the result.
+ */
+@RequiredArgsConstructor
+public final class AsyncHandle<T extends SmartEvent, R> implements Handle<T> {
+
+  /**
+   * the class.
+   */
+  @NotNull
+  private final Class<T> clazz;
+
+  /**
+   * the function.
+   */
+  @NotNull
+  private final Function<T, CompletableFuture<R>> function;
+
+  /**
+   * the pending item.
+   */
+  @Nullable
+  private final ItemStack pending;
+
+  /**
+   * the result.
+   */
+  @NotNull
+  private final BiConsumer<T, R> result;
+
+  /**
+   * the contents which have a running future.
+   */
+  private final Set<InventoryContents> running = ConcurrentHashMap.newKeySet();
+
+  @Override
+  public void accept(@NotNull final T t) {
+    final var contents = t.contents();
+    if (!this.running.add(contents)) {
+      return;
+    }
+    final var restore = this.showPending(t, contents);
+    final var manager = contents.page().inventory();
+    final CompletableFuture<CompletableFuture<R>> future;
+    try {
+      future = CompletableFuture.supplyAsync(() -> this.function.apply(t), manager.getExecutor());
+    } catch (final RuntimeException exception) {
+      this.running.remove(contents);
+      restore.run();
+      manager.getPlugin().getLogger().log(Level.SEVERE, "The executor rejected an async handle", exception);
+      return;
+    }
+    future
+      .thenCompose(Function.identity())
+      .whenComplete((value, throwable) -> {
+        final Runnable complete = () -> {
+          this.running.remove(contents);
+          restore.run();
+          if (throwable != null) {
+            manager.getPlugin().getLogger().log(Level.SEVERE, "An error occurred while running an async handle",
+              throwable);
+          } else if (contents.isBound()) {
+            this.result.accept(t, value);
+          }
+        };
+        final var plugin = manager.getPlugin();
+        if (Bukkit.isPrimaryThread()) {
+          complete.run();
+        } else if (plugin.isEnabled()) {
+          Bukkit.getScheduler().runTask(plugin, complete);
+        } else {
+          this.running.remove(contents);
+        }
+      });
+  }
+
+  @NotNull
+  @Override
+  public Class<T> type() {
+    return this.clazz;
+  }
+
+  /**
+   * shows the pending item on the clicked slot of the given event.
+   *
+   * @param event the event to show.
+   * @param contents the contents to show.
+   *
+   * @return a runnable which puts the clicked icon back, if the slot still shows the pending item.
+   */
+  @NotNull
+  private Runnable showPending(@NotNull final T event, @NotNull final InventoryContents contents) {
+    if (this.pending == null || !(event instanceof ClickEvent)) {
+      return () -> {
+      };
+    }
+    final var click = (ClickEvent) event;
+    final var row = click.row();
+    final var column = click.column();
+    final var icon = contents.peek(row, column);
+    if (icon == null) {
+      return () -> {
+      };
+    }
+    final var pendingIcon = Icon.from(this.pending);
+    contents.set(row, column, pendingIcon);
+    return () -> {
+      if (contents.peek(row, column) == pendingIcon) {
+        contents.set(row, column, icon);
+      }
+    };
+  }
+}
@@ -0,0 +1,146 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.smartinventory.handle;
+
+import io.github.portlek.smartinventory.Handle;
+import io.github.portlek.smartinventory.event.abs.ClickEvent;
+import io.github.portlek.smartinventory.event.abs.PageClickEvent;
+import io.github.portlek.smartinventory.event.abs.SmartEvent;
+import java.util.EnumSet;
+import java.util.Set;
+import org.bukkit.event.inventory.ClickType;
+import org.bukkit.event.inventory.InventoryAction;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * a {@link Handle} implementation that runs only for the given click types and inventory actions.
+ * <p>
+ * {@link HandleTable} routes the click events to these handles by the ordinal of the click type, so the handles which
+ * cannot match a click are not visited at all.
+ *
+ * @param <T> type of the event.
+ */
+public final class ClickHandle<T extends SmartEvent> implements Handle<T> {
+
+  /**
+   * the actions.
+   */
+  @NotNull
+  private final Set<InventoryAction> actions;
+
+  /**
+   * the clicks.
+   */
+  @NotNull
+  private final Set<ClickType> clicks;
+
+  /**
+   * the delegate.
+   */
+  @NotNull
+  private final Handle<T> delegate;
+
+  /**
+   * ctor.
+   *
+   * @param delegate the delegate.
+   * @param clicks the clicks, empty for all the click types.
+   * @param actions the actions, empty for all the inventory actions.
+   */
+  public ClickHandle(@NotNull final Handle<T> delegate, @NotNull final Set<ClickType> clicks,
+                     @NotNull final Set<InventoryAction> actions) {
+    this.delegate = delegate;
+    this.clicks = clicks.isEmpty() ? EnumSet.allOf(ClickType.class) : EnumSet.copyOf(clicks);
+    this.actions = actions.isEmpty() ? EnumSet.allOf(InventoryAction.class) : EnumSet.copyOf(actions);
+  }
+
+  /**
+   * obtains the inventory action of the given event.
+   *
+   * @param event the event to obtain.
+   *
+   * @return the inventory action, or {@code null} if the event is not a click event.
+   */
+  @Nullable
+  static InventoryAction action(@NotNull final SmartEvent event) {
+    if (event instanceof ClickEvent) {
+      return ((ClickEvent) event).action();
+    }
+    if (event instanceof PageClickEvent) {
+      return ((PageClickEvent) event).getEvent().getAction();
+    }
+    return null;
+  }
+
+  /**
+   * obtains the click type of the given event.
+   *
+   * @param event the event to obtain.
+   *
+   * @return the click type, or {@code null} if the event is not a click event.
+   */
+  @Nullable
+  static ClickType click(@NotNull final SmartEvent event) {
+    if (event instanceof ClickEvent) {
+      return ((ClickEvent) event).click();
+    }
+    if (event instanceof PageClickEvent) {
+      return ((PageClickEvent) event).getEvent().getClick();
+    }
+    return null;
+  }
+
+  @Override
+  public void accept(@NotNull final T t) {
+    final var click = ClickHandle.click(t);
+    if (click != null && !this.clicks.contains(click)) {
+      return;
+    }
+    final var action = ClickHandle.action(t);
+    if (action != null && !this.actions.contains(action)) {
+      return;
+    }
+    this.delegate.accept(t);
+  }
+
+  /**
+   * checks if {@code this} runs for the given click type.
+   *
+   * @param click the click type to check.
+   *
+   * @return {@code true} if the click type matches.
+   */
+  public boolean matches(@NotNull final ClickType click) {
+    return this.clicks.contains(click);
+  }
+
+  @NotNull
+  @Override
+  public Class<T> type() {
+    return this.delegate.type();
+  }
+}
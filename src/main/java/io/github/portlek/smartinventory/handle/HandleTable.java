@@ -0,0 +1,194 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.smartinventory.handle;
+
+import io.github.portlek.smartinventory.Handle;
+import io.github.portlek.smartinventory.event.abs.SmartEvent;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.bukkit.event.inventory.ClickType;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * a class that represents dispatch tables of {@link Handle}s.
+ * <p>
+ * the handles which match an event class are resolved once and kept in an array which is keyed by the event class,
+ * so dispatching an event is a single array walk. the resolved arrays are updated when a handle is added.
+ * <p>
+ * the click events are routed by the ordinal of their {@link ClickType}, so the {@link ClickHandle}s which do not
+ * match the click are not visited.
+ *
+ * @param <E> type of the events.
+ */
+public final class HandleTable<E extends SmartEvent> {
+
+  /**
+   * the click types.
+   */
+  private static final ClickType[] CLICKS = ClickType.values();
+
+  /**
+   * the index of the route which contains all the resolved handles.
+   */
+  private static final int ALL = HandleTable.CLICKS.length;
+
+  /**
+   * the empty handles.
+   */
+  private static final Handle<?>[] EMPTY = new Handle<?>[0];
+
+  /**
+   * the resolved routes, keyed by the event class.
+   * <p>
+   * a route array is indexed by the click type ordinal, the last index contains all the resolved handles.
+   */
+  private final Map<Class<?>, Handle<?>[][]> table = new ConcurrentHashMap<>();
+
+  /**
+   * the handles, in registration order.
+   */
+  @NotNull
+  private volatile Handle<?>[] handles = HandleTable.EMPTY;
+
+  /**
+   * appends the given handle to the given handles.
+   *
+   * @param handles the handles to append.
+   * @param handle the handle to append.
+   *
+   * @return a new handle array.
+   */
+  @NotNull
+  private static Handle<?>[] append(@NotNull final Handle<?>[] handles, @NotNull final Handle<?> handle) {
+    final var appended = Arrays.copyOf(handles, handles.length + 1);
+    appended[handles.length] = handle;
+    return appended;
+  }
+
+  /**
+   * creates the routes of the given handles.
+   *
+   * @param handles the handles to create.
+   *
+   * @return the routes which are indexed by the click type ordinal.
+   */
+  @NotNull
+  private static Handle<?>[][] route(@NotNull final Handle<?>[] handles) {
+    final var routes = new Handle<?>[HandleTable.ALL + 1][];
+    routes[HandleTable.ALL] = handles;
+    final var filtered = Arrays.stream(handles).anyMatch(ClickHandle.class::isInstance);
+    for (final var click : HandleTable.CLICKS) {
+      if (filtered) {
+        routes[click.ordinal()] = Arrays.stream(handles)
+          .filter(handle -> !(handle instanceof ClickHandle) || ((ClickHandle<?>) handle).matches(click))
+          .toArray(Handle<?>[]::new);
+      } else {
+        routes[click.ordinal()] = handles;
+      }
+    }
+    return routes;
+  }
+
+  /**
+   * runs the handles which match the given event.
+   *
+   * @param event the event to run.
+   * @param <T> type of the event.
+   */
+  @SuppressWarnings("unchecked")
+  public <T extends E> void accept(@NotNull final T event) {
+    final var click = ClickHandle.click(event);
+    final var routes = this.resolve(event.getClass());
+    for (final var handle : routes[click == null ? HandleTable.ALL : click.ordinal()]) {
+      ((Handle<T>) handle).accept(event);
+    }
+  }
+
+  /**
+   * adds the given handle and updates the resolved handles.
+   *
+   * @param handle the handle to add.
+   */
+  public synchronized void add(@NotNull final Handle<? extends E> handle) {
+    this.handles = HandleTable.append(this.handles, handle);
+    this.table.replaceAll((type, routes) -> handle.type().isAssignableFrom(type)
+      ? HandleTable.route(HandleTable.append(routes[HandleTable.ALL], handle))
+      : routes);
+  }
+
+  /**
+   * checks if there is a handle for the given event class.
+   *
+   * @param type the event class to check.
+   *
+   * @return {@code true} if an event of the class has any handle to run.
+   */
+  public boolean has(@NotNull final Class<? extends E> type) {
+    return this.resolve(type)[HandleTable.ALL].length != 0;
+  }
+
+  /**
+   * checks if there is no handle.
+   *
+   * @return {@code true} if there is no handle.
+   */
+  public boolean isEmpty() {
+    return this.handles.length == 0;
+  }
+
+  /**
+   * collects the routes of the handles which match the given event class.
+   *
+   * @param type the event class to collect.
+   *
+   * @return the routes of the matching handles, in registration order.
+   */
+  @NotNull
+  private Handle<?>[][] collect(@NotNull final Class<?> type) {
+    return HandleTable.route(Arrays.stream(this.handles)
+      .filter(handle -> handle.type().isAssignableFrom(type))
+      .toArray(Handle<?>[]::new));
+  }
+
+  /**
+   * resolves the routes of the handles which match the given event class.
+   *
+   * @param type the event class to resolve.
+   *
+   * @return the routes of the matching handles, in registration order.
+   */
+  @NotNull
+  private Handle<?>[][] resolve(@NotNull final Class<?> type) {
+    final var routes = this.table.get(type);
+    if (routes != null) {
+      return routes;
+    }
+    synchronized (this) {
+      return this.table.computeIfAbsent(type, this::collect);
+    }
+  }
+}
@@ -29,8 +29,13 @@ import io.github.portlek.smartinventory.Handle;
 import io.github.portlek.smartinventory.Icon;
 import io.github.portlek.smartinventory.InventoryContents;
 import io.github.portlek.smartinventory.event.abs.IconEvent;
-import java.util.ArrayList;
+import io.github.portlek.smartinventory.handle.HandleTable;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
 import lombok.RequiredArgsConstructor;
 import org.bukkit.Material;
@@ -39,14 +44,35 @@ import org.jetbrains.annotations.NotNull;
 
 /**
  * an implementation for {@link Icon}.
+ * <p>
+ * if the render cache is enabled, the {@code canSee} results are cached with the cache version they were calculated
+ * in. the results are keyed by the {@link InventoryContents} instance, which is one viewer of one opened page with its
+ * own properties, so the same icon on another page or with other properties is tested separately. the keys are held
+ * weakly, the results of the closed contents are dropped with them. {@link #invalidate()} bumps the version and
+ * drops all the results.
  */
 @RequiredArgsConstructor
 public final class BasicIcon implements Icon {
 
   /**
-   * the handle list.
+   * the handles.
    */
-  private final Collection<Handle<? extends IconEvent>> handles = new ArrayList<>();
+  private final HandleTable<IconEvent> handles = new HandleTable<>();
+
+  /**
+   * the cache version.
+   */
+  private final AtomicInteger version = new AtomicInteger();
+
+  /**
+   * the cached visibilities by contents, weakly keyed.
+   */
+  private final Map<InventoryContents, Visibility> visibilities = Collections.synchronizedMap(new WeakHashMap<>());
+
+  /**
+   * the cache time to live in nanoseconds, zero for no expiry and negative for no cache.
+   */
+  private volatile long cacheTtl = -1L;
 
   /**
    * the can see.
@@ -74,20 +100,27 @@ public final class BasicIcon implements Icon {
 
   @Override
   public <T extends IconEvent> void accept(@NotNull final T event) {
+    if (!this.handles.has(event.getClass())) {
+      return;
+    }
     final var contents = event.contents();
-    if (this.canSee.test(contents) && this.canUse.test(contents)) {
-      this.handles.stream()
-        .filter(target -> target.type().isAssignableFrom(event.getClass()))
-        .map(target -> (Handle<T>) target)
-        .forEach(target -> target.accept(event));
+    if (this.isVisible(contents) && this.canUse.test(contents)) {
+      this.handles.accept(event);
     }
   }
 
+  @NotNull
+  @Override
+  public Icon cache(final long ttl, @NotNull final TimeUnit unit) {
+    this.cacheTtl = ttl < 0L ? -1L : unit.toNanos(ttl);
+    return this.invalidate();
+  }
+
   @NotNull
   @Override
   public ItemStack calculateItem(@NotNull final InventoryContents contents) {
     final ItemStack calculated;
-    if (this.canSee.test(contents)) {
+    if (this.isVisible(contents)) {
       calculated = this.getItem();
     } else {
       calculated = this.fallback;
@@ -99,7 +132,7 @@ public final class BasicIcon implements Icon {
   @Override
   public Icon canSee(@NotNull final Predicate<InventoryContents> predicate) {
     this.canSee = predicate;
-    return this;
+    return this.invalidate();
   }
 
   @NotNull
@@ -132,7 +165,20 @@ public final class BasicIcon implements Icon {
   @NotNull
   @Override
   public Icon handles(@NotNull final Collection<Handle<? extends IconEvent>> handles) {
-    this.handles.addAll(handles);
+    handles.forEach(this.handles::add);
+    return this;
+  }
+
+  @Override
+  public boolean hasHandle(@NotNull final Class<? extends IconEvent> type) {
+    return this.handles.has(type);
+  }
+
+  @NotNull
+  @Override
+  public Icon invalidate() {
+    this.version.incrementAndGet();
+    this.visibilities.clear();
     return this;
   }
 
@@ -142,4 +188,49 @@ public final class BasicIcon implements Icon {
     this.item = item;
     return this;
   }
+
+  /**
+   * tests the {@code canSee} predicate with the given contents, or obtains its cached result for the contents.
+   *
+   * @param contents the contents to test.
+   *
+   * @return {@code true} if the viewer can see the icon.
+   */
+  private boolean isVisible(@NotNull final InventoryContents contents) {
+    final var ttl = this.cacheTtl;
+    if (ttl < 0L) {
+      return this.canSee.test(contents);
+    }
+    final var version = this.version.get();
+    final var now = System.nanoTime();
+    final var cached = this.visibilities.get(contents);
+    if (cached != null && cached.version == version && (ttl == 0L || now - cached.time < ttl)) {
+      return cached.visible;
+    }
+    final var visible = this.canSee.test(contents);
+    this.visibilities.put(contents, new Visibility(now, version, visible));
+    return visible;
+  }
+
+  /**
+   * a class that represents cached {@code canSee} results.
+   */
+  @RequiredArgsConstructor
+  private static final class Visibility {
+
+    /**
+     * the calculation time in nanoseconds.
+     */
+    private final long time;
+
+    /**
+     * the cache version.
+     */
+    private final int version;
+
+    /**
+     * the visible.
+     */
+    private final boolean visible;
+  }
 }
@@ -25,12 +25,12 @@
 
 package io.github.portlek.smartinventory.listener;
 
-import io.github.portlek.smartinventory.SmartHolder;
+import io.github.portlek.smartinventory.SmartInventory;
 import io.github.portlek.smartinventory.event.IcClickEvent;
 import io.github.portlek.smartinventory.event.PgBottomClickEvent;
 import io.github.portlek.smartinventory.event.PgClickEvent;
 import io.github.portlek.smartinventory.event.PgOutsideClickEvent;
-import io.github.portlek.smartinventory.util.SlotPos;
+import io.github.portlek.smartinventory.util.SlotUpdater;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -50,11 +50,11 @@ public final class InventoryClickListener implements Listener {
    */
   @EventHandler
   public void onInventoryClick(final InventoryClickEvent event) {
-    final var holder = event.getInventory().getHolder();
-    if (!(holder instanceof SmartHolder)) {
+    final var holder = SmartInventory.getHolder(event.getInventory());
+    if (holder.isEmpty()) {
       return;
     }
-    final var smartHolder = (SmartHolder) holder;
+    final var smartHolder = holder.get();
     if (event.getAction() == InventoryAction.COLLECT_TO_CURSOR) {
       event.setCancelled(true);
       return;
@@ -83,14 +83,20 @@ public final class InventoryClickListener implements Listener {
     if (!page.checkBounds(row, column)) {
       return;
     }
-    final var slotPos = SlotPos.of(row, column);
-    if (!contents.isEditable(slotPos)) {
+    if (!contents.isEditable(slot)) {
       event.setCancelled(true);
     }
-    contents.get(slotPos).ifPresent(item ->
-      item.accept(new IcClickEvent(contents, event, item, plugin)));
-    if (!contents.isEditable(slotPos) && player instanceof Player) {
-      ((Player) player).updateInventory();
+    final var item = contents.peek(slot);
+    if (item != null && item.hasHandle(IcClickEvent.class) &&
+      page.inventory().getClickLimiter().tryAcquire(player.getUniqueId(), slot)) {
+      item.accept(new IcClickEvent(contents, event, item, plugin));
+    }
+    if (!contents.isEditable(slot) && player instanceof Player) {
+      if (page.fullResync()) {
+        ((Player) player).updateInventory();
+      } else {
+        SlotUpdater.resync((Player) player, event);
+      }
     }
   }
 }
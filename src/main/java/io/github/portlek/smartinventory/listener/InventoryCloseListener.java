@@ -25,29 +25,18 @@
 
 package io.github.portlek.smartinventory.listener;
 
-import io.github.portlek.smartinventory.SmartHolder;
+import io.github.portlek.smartinventory.SmartInventory;
 import io.github.portlek.smartinventory.event.PgCloseEvent;
-import java.util.UUID;
-import java.util.function.Consumer;
-import lombok.RequiredArgsConstructor;
 import org.bukkit.Bukkit;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryCloseEvent;
-import org.jetbrains.annotations.NotNull;
 
 /**
  * a class that represents inventory close listeners.
  */
-@RequiredArgsConstructor
 public final class InventoryCloseListener implements Listener {
 
-  /**
-   * the stop tick function.
-   */
-  @NotNull
-  private final Consumer<UUID> stopTickFunction;
-
   /**
    * listens inventory close events.
    *
@@ -55,11 +44,11 @@ public final class InventoryCloseListener implements Listener {
    */
   @EventHandler
   public void onInventoryClose(final InventoryCloseEvent event) {
-    final var holder = event.getInventory().getHolder();
-    if (!(holder instanceof SmartHolder)) {
+    final var holder = SmartInventory.getHolder(event.getInventory());
+    if (holder.isEmpty()) {
       return;
     }
-    final var smartHolder = (SmartHolder) holder;
+    final var smartHolder = holder.get();
     final var inventory = event.getInventory();
     final var page = smartHolder.getPage();
     final var close = new PgCloseEvent(smartHolder.getContents(), event);
@@ -70,6 +59,9 @@ public final class InventoryCloseListener implements Listener {
       return;
     }
     inventory.clear();
-    this.stopTickFunction.accept(event.getPlayer().getUniqueId());
+    ListenerDispatcher.removeInventory(inventory);
+    final var uniqueId = event.getPlayer().getUniqueId();
+    page.inventory().removeViewer(uniqueId, smartHolder);
+    page.inventory().stopTick(uniqueId);
   }
 }
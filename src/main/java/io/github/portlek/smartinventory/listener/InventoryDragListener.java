@@ -25,9 +25,8 @@
 
 package io.github.portlek.smartinventory.listener;
 
-import io.github.portlek.smartinventory.SmartHolder;
+import io.github.portlek.smartinventory.SmartInventory;
 import io.github.portlek.smartinventory.event.IcDragEvent;
-import io.github.portlek.smartinventory.util.SlotPos;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
@@ -45,18 +44,19 @@ public final class InventoryDragListener implements Listener {
    */
   @EventHandler(priority = EventPriority.LOW)
   public void onInventoryDrag(final InventoryDragEvent event) {
-    final var holder = event.getInventory().getHolder();
-    if (!(holder instanceof SmartHolder)) {
+    final var holder = SmartInventory.getHolder(event.getInventory());
+    if (holder.isEmpty()) {
       return;
     }
-    final var smartHolder = (SmartHolder) holder;
+    final var smartHolder = holder.get();
     final var inventory = event.getInventory();
     final var contents = smartHolder.getContents();
     for (final var slot : event.getRawSlots()) {
-      final var pos = SlotPos.of(slot / 9, slot % 9);
-      contents.get(pos).ifPresent(icon ->
-        icon.accept(new IcDragEvent(contents, event, icon, smartHolder.getPlugin())));
-      if (slot >= inventory.getSize() || contents.isEditable(pos)) {
+      final var icon = contents.peek(slot);
+      if (icon != null && icon.hasHandle(IcDragEvent.class)) {
+        icon.accept(new IcDragEvent(contents, event, icon, smartHolder.getPlugin()));
+      }
+      if (slot >= inventory.getSize() || contents.isEditable(slot)) {
         continue;
       }
       event.setCancelled(true);
@@ -25,7 +25,7 @@
 
 package io.github.portlek.smartinventory.listener;
 
-import io.github.portlek.smartinventory.SmartHolder;
+import io.github.portlek.smartinventory.SmartInventory;
 import io.github.portlek.smartinventory.event.PgOpenEvent;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
@@ -43,11 +43,11 @@ public final class InventoryOpenListener implements Listener {
    */
   @EventHandler
   public void onInventoryOpen(final InventoryOpenEvent event) {
-    final var holder = event.getInventory().getHolder();
-    if (!(holder instanceof SmartHolder)) {
+    final var holder = SmartInventory.getHolder(event.getInventory());
+    if (holder.isEmpty()) {
       return;
     }
-    final var smartHolder = (SmartHolder) holder;
+    final var smartHolder = holder.get();
     smartHolder.getPage().accept(new PgOpenEvent(smartHolder.getContents(), event, smartHolder.getPlugin()));
   }
 }
@@ -0,0 +1,105 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package io.github.portlek.smartinventory.listener;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.event.inventory.InventoryEvent;
+import org.bukkit.event.inventory.InventoryOpenEvent;
+import org.bukkit.inventory.Inventory;
+
+/**
+ * a class that routes the inventory events to the copy of the library which created the inventory.
+ * <p>
+ * the router is the map of the inventories to the consumers of their copies, it refers only to the JDK and Bukkit
+ * types, so every copy of the library, relocated or not, can put its inventories into it. only one router is
+ * registered at a time, see {@link ListenerDispatcher}.
+ */
+public final class InventoryRouter extends ConcurrentHashMap<Inventory, Consumer<? super InventoryEvent>>
+  implements Listener {
+
+  /**
+   * the serial version uid.
+   */
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * listens inventory click events.
+   *
+   * @param event the event to listen.
+   */
+  @EventHandler
+  public void onInventoryClick(final InventoryClickEvent event) {
+    this.route(event);
+  }
+
+  /**
+   * listens inventory close events.
+   *
+   * @param event the event to listen.
+   */
+  @EventHandler
+  public void onInventoryClose(final InventoryCloseEvent event) {
+    this.route(event);
+  }
+
+  /**
+   * listens inventory drag events.
+   *
+   * @param event the event to listen.
+   */
+  @EventHandler(priority = EventPriority.LOW)
+  public void onInventoryDrag(final InventoryDragEvent event) {
+    this.route(event);
+  }
+
+  /**
+   * listens the inventory open events.
+   *
+   * @param event the event to listen.
+   */
+  @EventHandler
+  public void onInventoryOpen(final InventoryOpenEvent event) {
+    this.route(event);
+  }
+
+  /**
+   * runs the consumer of the event's inventory.
+   *
+   * @param event the event to route.
+   */
+  private void route(final InventoryEvent event) {
+    final var consumer = this.get(event.getInventory());
+    if (consumer != null) {
+      consumer.accept(event);
+    }
+  }
+}
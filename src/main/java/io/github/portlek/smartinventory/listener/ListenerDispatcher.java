@@ -0,0 +1,351 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package io.github.portlek.smartinventory.listener;
+
+import io.github.portlek.smartinventory.SmartHolder;
+import io.github.portlek.smartinventory.SmartInventory;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.bukkit.Bukkit;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.event.inventory.InventoryEvent;
+import org.bukkit.event.inventory.InventoryOpenEvent;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.RegisteredServiceProvider;
+import org.bukkit.plugin.ServicePriority;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * a class that keeps the managers and their inventories, and registers the listeners once for all of them.
+ * <p>
+ * the inventory events are listened by a single {@link InventoryRouter} for all the copies of the library, including
+ * the copies which are shaded and relocated into different plugins. the router is published as a {@link Map} service
+ * through the {@link org.bukkit.plugin.ServicesManager}, the first copy which initiates a manager registers it, and
+ * the other copies put their inventories into it with their own consumer, so an event runs one map lookup and only
+ * the listeners of the copy which created the inventory, whatever the copy count is. when the plugin which registered
+ * the router is disabled, a copy which has another enabled manager registers a new router with the same inventories.
+ * <p>
+ * the player and plugin events are not related to an inventory, so every copy registers its own listeners for them
+ * under the plugin of one of its managers, and moves them to the plugin of another manager when that plugin is
+ * disabled.
+ */
+public final class ListenerDispatcher {
+
+  /**
+   * the inventory click listener.
+   */
+  private static final InventoryClickListener CLICK = new InventoryClickListener();
+
+  /**
+   * the inventory close listener.
+   */
+  private static final InventoryCloseListener CLOSE = new InventoryCloseListener();
+
+  /**
+   * the consumer which this copy puts into the router for its inventories.
+   */
+  private static final Consumer<InventoryEvent> DISPATCH = ListenerDispatcher::dispatch;
+
+  /**
+   * the inventory drag listener.
+   */
+  private static final InventoryDragListener DRAG = new InventoryDragListener();
+
+  /**
+   * the inventories which are created by the managers of this copy and their holders.
+   * <p>
+   * the listeners use this to recognise the inventories, {@link Inventory#getHolder()} is not called for the others
+   * since it creates a block state snapshot for the block inventories.
+   */
+  private static final Map<Inventory, SmartHolder> INVENTORIES = new ConcurrentHashMap<>();
+
+  /**
+   * the player and plugin listeners of this copy.
+   */
+  private static final List<Listener> LISTENERS = Arrays.asList(
+    new PlayerQuitListener(),
+    new PluginDisableListener(),
+    new PlayerJoinListener(),
+    new PermissionsRecalculateListener());
+
+  /**
+   * the initiated inventory managers of this copy.
+   */
+  private static final Collection<SmartInventory> MANAGERS = ConcurrentHashMap.newKeySet();
+
+  /**
+   * the inventory open listener.
+   */
+  private static final InventoryOpenListener OPEN = new InventoryOpenListener();
+
+  /**
+   * the plugin which the player and plugin listeners of this copy are registered under.
+   */
+  @Nullable
+  private static Plugin owner;
+
+  /**
+   * ctor.
+   */
+  private ListenerDispatcher() {
+  }
+
+  /**
+   * puts the given inventory and its holder.
+   *
+   * @param inventory the inventory to put.
+   * @param holder the holder to put.
+   */
+  public static void addInventory(@NotNull final Inventory inventory, @NotNull final SmartHolder holder) {
+    ListenerDispatcher.INVENTORIES.put(inventory, holder);
+    ListenerDispatcher.router(holder.getPlugin()).put(inventory, ListenerDispatcher.DISPATCH);
+  }
+
+  /**
+   * puts the given inventory with the holder of the given function, if it is not put yet.
+   *
+   * @param inventory the inventory to put.
+   * @param function the function to create the holder.
+   *
+   * @return the holder of the inventory.
+   */
+  @NotNull
+  public static SmartHolder computeInventory(@NotNull final Inventory inventory,
+                                             @NotNull final Function<Inventory, SmartHolder> function) {
+    final var holder = ListenerDispatcher.INVENTORIES.computeIfAbsent(inventory, function);
+    ListenerDispatcher.router(holder.getPlugin()).put(inventory, ListenerDispatcher.DISPATCH);
+    return holder;
+  }
+
+  /**
+   * obtains the holder of the given inventory.
+   *
+   * @param inventory the inventory to obtain.
+   *
+   * @return the holder, if the inventory is created by a manager of this copy.
+   */
+  @NotNull
+  public static Optional<SmartHolder> getHolder(@NotNull final Inventory inventory) {
+    return Optional.ofNullable(ListenerDispatcher.INVENTORIES.get(inventory));
+  }
+
+  /**
+   * obtains the initiated managers of this copy.
+   *
+   * @return an unmodifiable view of the managers.
+   */
+  @NotNull
+  public static Collection<SmartInventory> getManagers() {
+    return Collections.unmodifiableCollection(ListenerDispatcher.MANAGERS);
+  }
+
+  /**
+   * moves the listeners to another manager's plugin if the given plugin registered them.
+   *
+   * @param disabled the plugin which is disabled.
+   */
+  public static synchronized void handover(@NotNull final Plugin disabled) {
+    final var successor = ListenerDispatcher.MANAGERS.stream()
+      .map(SmartInventory::getPlugin)
+      .filter(plugin -> !plugin.equals(disabled) && plugin.isEnabled())
+      .findFirst();
+    final var registration = ListenerDispatcher.registration();
+    if (registration != null && registration.getPlugin().equals(disabled) && successor.isPresent()) {
+      final var previous = ListenerDispatcher.provider(registration);
+      final var router = new InventoryRouter();
+      router.putAll(previous);
+      Bukkit.getServicesManager().unregister(Map.class, previous);
+      HandlerList.unregisterAll((Listener) previous);
+      ListenerDispatcher.publish(router, successor.get());
+    }
+    if (!disabled.equals(ListenerDispatcher.owner)) {
+      return;
+    }
+    ListenerDispatcher.LISTENERS.forEach(HandlerList::unregisterAll);
+    ListenerDispatcher.owner = null;
+    successor.ifPresent(ListenerDispatcher::listen);
+  }
+
+  /**
+   * adds the given manager and registers the listeners under its plugin, if they are not registered yet.
+   *
+   * @param manager the manager to register.
+   */
+  public static synchronized void register(@NotNull final SmartInventory manager) {
+    ListenerDispatcher.MANAGERS.add(manager);
+    final var plugin = manager.getPlugin();
+    ListenerDispatcher.router(plugin);
+    final var current = ListenerDispatcher.owner;
+    if (current != null && current.isEnabled()) {
+      return;
+    }
+    if (current != null) {
+      ListenerDispatcher.LISTENERS.forEach(HandlerList::unregisterAll);
+    }
+    ListenerDispatcher.listen(plugin);
+  }
+
+  /**
+   * removes the given holder's inventories.
+   *
+   * @param holder the holder to remove.
+   */
+  public static void removeHolder(@NotNull final SmartHolder holder) {
+    ListenerDispatcher.INVENTORIES.forEach((inventory, value) -> {
+      if (value.equals(holder)) {
+        ListenerDispatcher.removeInventory(inventory);
+      }
+    });
+  }
+
+  /**
+   * removes the given inventory.
+   *
+   * @param inventory the inventory to remove.
+   */
+  public static void removeInventory(@NotNull final Inventory inventory) {
+    ListenerDispatcher.INVENTORIES.remove(inventory);
+    final var registration = ListenerDispatcher.registration();
+    if (registration != null) {
+      ListenerDispatcher.provider(registration).remove(inventory, ListenerDispatcher.DISPATCH);
+    }
+  }
+
+  /**
+   * removes the managers and the inventories of the given plugin.
+   *
+   * @param plugin the plugin to remove.
+   */
+  public static void removePlugin(@NotNull final Plugin plugin) {
+    ListenerDispatcher.INVENTORIES.forEach((inventory, holder) -> {
+      if (holder.getPlugin().equals(plugin)) {
+        ListenerDispatcher.removeInventory(inventory);
+      }
+    });
+    ListenerDispatcher.MANAGERS.removeIf(manager -> manager.getPlugin().equals(plugin));
+  }
+
+  /**
+   * runs the listener of this copy for the given event.
+   *
+   * @param event the event to dispatch.
+   */
+  private static void dispatch(@NotNull final InventoryEvent event) {
+    if (event instanceof InventoryClickEvent) {
+      ListenerDispatcher.CLICK.onInventoryClick((InventoryClickEvent) event);
+    } else if (event instanceof InventoryDragEvent) {
+      ListenerDispatcher.DRAG.onInventoryDrag((InventoryDragEvent) event);
+    } else if (event instanceof InventoryOpenEvent) {
+      ListenerDispatcher.OPEN.onInventoryOpen((InventoryOpenEvent) event);
+    } else if (event instanceof InventoryCloseEvent) {
+      ListenerDispatcher.CLOSE.onInventoryClose((InventoryCloseEvent) event);
+    }
+  }
+
+  /**
+   * registers the player and plugin listeners of this copy under the given plugin.
+   *
+   * @param plugin the plugin to register.
+   */
+  private static void listen(@NotNull final Plugin plugin) {
+    ListenerDispatcher.owner = plugin;
+    ListenerDispatcher.LISTENERS.forEach(listener ->
+      Bukkit.getPluginManager().registerEvents(listener, plugin));
+  }
+
+  /**
+   * obtains the router of the given registration.
+   *
+   * @param registration the registration to obtain.
+   *
+   * @return the router.
+   */
+  @NotNull
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static Map<Inventory, Consumer<? super InventoryEvent>> provider(
+    @NotNull final RegisteredServiceProvider<Map> registration) {
+    return registration.getProvider();
+  }
+
+  /**
+   * registers the given router under the given plugin.
+   *
+   * @param router the router to register.
+   * @param plugin the plugin to register.
+   */
+  private static void publish(@NotNull final InventoryRouter router, @NotNull final Plugin plugin) {
+    Bukkit.getServicesManager().register(Map.class, router, plugin, ServicePriority.Normal);
+    Bukkit.getPluginManager().registerEvents(router, plugin);
+  }
+
+  /**
+   * finds the registration of the router which is registered by any copy of the library.
+   * <p>
+   * the router is the only {@link Map} service which is a {@link Listener} too.
+   *
+   * @return the registration, or {@code null} if no router is registered.
+   */
+  @Nullable
+  @SuppressWarnings("rawtypes")
+  private static RegisteredServiceProvider<Map> registration() {
+    for (final var registration : Bukkit.getServicesManager().getRegistrations(Map.class)) {
+      if (registration.getProvider() instanceof Listener) {
+        return registration;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * obtains the registered router, or registers a new one under the given plugin.
+   *
+   * @param plugin the plugin to register.
+   *
+   * @return the router.
+   */
+  @NotNull
+  private static synchronized Map<Inventory, Consumer<? super InventoryEvent>> router(@NotNull final Plugin plugin) {
+    final var registration = ListenerDispatcher.registration();
+    if (registration != null) {
+      return ListenerDispatcher.provider(registration);
+    }
+    final var router = new InventoryRouter();
+    ListenerDispatcher.publish(router, plugin);
+    return router;
+  }
+}
@@ -27,26 +27,16 @@ package io.github.portlek.smartinventory.listener;
 
 import io.github.portlek.smartinventory.SmartInventory;
 import io.github.portlek.smartinventory.event.PlyrQuitEvent;
-import java.util.UUID;
-import java.util.function.Consumer;
-import lombok.RequiredArgsConstructor;
+import io.github.portlek.smartinventory.util.PermissionCache;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerQuitEvent;
-import org.jetbrains.annotations.NotNull;
 
 /**
  * a class that represents player quit listeners.
  */
-@RequiredArgsConstructor
 public final class PlayerQuitListener implements Listener {
 
-  /**
-   * the stop tick function.
-   */
-  @NotNull
-  private final Consumer<UUID> stopTickFunction;
-
   /**
    * listens the player quit event.
    *
@@ -54,9 +44,15 @@ public final class PlayerQuitListener implements Listener {
    */
   @EventHandler
   public void onPlayerQuit(final PlayerQuitEvent event) {
-    SmartInventory.getHolder(event.getPlayer()).ifPresent(holder -> {
-      holder.getPage().accept(new PlyrQuitEvent(holder.getContents(), event));
-      this.stopTickFunction.accept(event.getPlayer().getUniqueId());
+    final var uniqueId = event.getPlayer().getUniqueId();
+    ListenerDispatcher.getManagers().forEach(manager -> manager.getClickLimiter().remove(uniqueId));
+    PermissionCache.invalidate(uniqueId);
+    SmartInventory.getHolder(uniqueId).ifPresent(holder -> {
+      final var page = holder.getPage();
+      page.accept(new PlyrQuitEvent(holder.getContents(), event));
+      page.inventory().removeViewer(uniqueId, holder);
+      ListenerDispatcher.removeHolder(holder);
+      page.inventory().stopTick(uniqueId);
     });
   }
 }
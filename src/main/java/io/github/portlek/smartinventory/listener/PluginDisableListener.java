@@ -25,8 +25,8 @@
 
 package io.github.portlek.smartinventory.listener;
 
-import io.github.portlek.smartinventory.SmartInventory;
 import io.github.portlek.smartinventory.event.PlgnDisableEvent;
+import java.util.stream.Collectors;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.server.PluginDisableEvent;
@@ -43,10 +43,17 @@ public final class PluginDisableListener implements Listener {
    */
   @EventHandler
   public void onPluginDisable(final PluginDisableEvent event) {
-    SmartInventory.getHolders().forEach(holder -> {
-      final var page = holder.getPage();
-      page.accept(new PlgnDisableEvent(holder.getContents(), event));
-      page.close(holder.getPlayer());
-    });
+    final var plugin = event.getPlugin();
+    ListenerDispatcher.getManagers().stream()
+      .filter(manager -> manager.getPlugin().equals(plugin))
+      .flatMap(manager -> manager.getViewers().values().stream())
+      .collect(Collectors.toList())
+      .forEach(holder -> {
+        final var page = holder.getPage();
+        page.accept(new PlgnDisableEvent(holder.getContents(), event));
+        page.close(holder.getPlayer());
+      });
+    ListenerDispatcher.removePlugin(plugin);
+    ListenerDispatcher.handover(plugin);
   }
 }
@@ -25,17 +25,25 @@
 
 package io.github.portlek.smartinventory.manager;
 
+import io.github.portlek.smartinventory.InventoryContents;
 import io.github.portlek.smartinventory.InventoryOpener;
+import io.github.portlek.smartinventory.InventoryProvider;
+import io.github.portlek.smartinventory.Page;
+import io.github.portlek.smartinventory.SmartHolder;
 import io.github.portlek.smartinventory.SmartInventory;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.bukkit.plugin.Plugin;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -45,6 +53,16 @@ import org.jetbrains.annotations.NotNull;
 @RequiredArgsConstructor
 public final class BasicSmartInventory implements SmartInventory {
 
+  /**
+   * the async ticker.
+   */
+  private final PageTicker asyncTicker = new PageTicker(true);
+
+  /**
+   * the click limiter.
+   */
+  private final ClickLimiter clickLimiter = new ClickLimiter();
+
   /**
    * the openers.
    */
@@ -57,9 +75,32 @@ public final class BasicSmartInventory implements SmartInventory {
   private final Plugin plugin;
 
   /**
-   * the tasks.
+   * the ticker.
+   */
+  private final PageTicker ticker = new PageTicker(false);
+
+  /**
+   * the viewers.
+   */
+  private final Map<UUID, SmartHolder> viewers = new ConcurrentHashMap<>();
+
+  /**
+   * the viewers by page id.
+   */
+  @Getter(AccessLevel.NONE)
+  private final Map<String, Set<SmartHolder>> viewersById = new ConcurrentHashMap<>();
+
+  /**
+   * the viewers by provider class.
    */
-  private final Map<UUID, BukkitRunnable> tasks = new ConcurrentHashMap<>();
+  @Getter(AccessLevel.NONE)
+  private final Map<Class<?>, Set<SmartHolder>> viewersByProvider = new ConcurrentHashMap<>();
+
+  /**
+   * the executor.
+   */
+  @NotNull
+  private Executor executor = ForkJoinPool.commonPool();
 
   static {
     try {
@@ -68,4 +109,131 @@ public final class BasicSmartInventory implements SmartInventory {
       e.printStackTrace();
     }
   }
+
+  /**
+   * adds the given holder into the given index.
+   *
+   * @param index the index to add.
+   * @param key the key to add.
+   * @param holder the holder to add.
+   * @param <K> type of the key.
+   */
+  private static <K> void index(@NotNull final Map<K, Set<SmartHolder>> index, @NotNull final K key,
+                                @NotNull final SmartHolder holder) {
+    index.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(holder);
+  }
+
+  /**
+   * removes the given holder from the given index.
+   * <p>
+   * the whole index is searched only if the page's key was changed while the holder is viewing it.
+   *
+   * @param index the index to remove.
+   * @param key the key to remove.
+   * @param holder the holder to remove.
+   * @param <K> type of the key.
+   */
+  private static <K> void unindex(@NotNull final Map<K, Set<SmartHolder>> index, @NotNull final K key,
+                                  @NotNull final SmartHolder holder) {
+    final var holders = index.get(key);
+    if (holders == null || !holders.remove(holder)) {
+      index.values().forEach(set -> set.remove(holder));
+    }
+    index.computeIfPresent(key, (k, set) -> set.isEmpty() ? null : set);
+  }
+
+  @Override
+  public long getDeferredFlushes() {
+    return this.ticker.getDeferredFlushes();
+  }
+
+  @Override
+  public long getDeferredTicks() {
+    return this.ticker.getDeferredTicks();
+  }
+
+  @Override
+  public long getExhaustedTicks() {
+    return this.ticker.getExhaustedRuns();
+  }
+
+  @Override
+  public long getTickBudget() {
+    return this.ticker.getBudget();
+  }
+
+  @NotNull
+  @Override
+  public Collection<SmartHolder> getViewers(@NotNull final String id) {
+    return this.viewersById.getOrDefault(id, Collections.emptySet());
+  }
+
+  @NotNull
+  @Override
+  public Collection<SmartHolder> getViewers(@NotNull final Class<? extends InventoryProvider> provider) {
+    return this.viewersByProvider.getOrDefault(provider, Collections.emptySet());
+  }
+
+  @Override
+  public void init() {
+    SmartInventory.super.init();
+    this.ticker.start(this.plugin);
+    this.asyncTicker.start(this.plugin);
+  }
+
+  @Override
+  public void removeViewer(@NotNull final UUID uniqueId, @NotNull final SmartHolder holder) {
+    if (!this.viewers.remove(uniqueId, holder)) {
+      return;
+    }
+    holder.getContents().bind(null);
+    final var page = holder.getPage();
+    BasicSmartInventory.unindex(this.viewersById, page.id(), holder);
+    BasicSmartInventory.unindex(this.viewersByProvider, page.provider().getClass(), holder);
+  }
+
+  @Override
+  public void scheduleFlush(@NotNull final InventoryContents contents) {
+    this.ticker.flushLater(contents);
+  }
+
+  @Override
+  public void setExecutor(@NotNull final Executor executor) {
+    this.executor = executor;
+  }
+
+  @Override
+  public void setTickBudget(final long millis) {
+    this.ticker.setBudget(millis);
+  }
+
+  @Override
+  public void setViewer(@NotNull final UUID uniqueId, @NotNull final SmartHolder holder) {
+    final var old = this.viewers.get(uniqueId);
+    if (old != null) {
+      this.removeViewer(uniqueId, old);
+    }
+    this.viewers.put(uniqueId, holder);
+    final var page = holder.getPage();
+    BasicSmartInventory.index(this.viewersById, page.id(), holder);
+    BasicSmartInventory.index(this.viewersByProvider, page.provider().getClass(), holder);
+  }
+
+  @Override
+  public void stopTick(@NotNull final UUID uniqueId) {
+    this.ticker.unregister(uniqueId);
+    this.asyncTicker.unregister(uniqueId);
+  }
+
+  @Override
+  public void tick(@NotNull final UUID uniqueId, @NotNull final Page page) {
+    this.getViewer(uniqueId).ifPresent(holder -> {
+      this.stopTick(uniqueId);
+      if (page.async()) {
+        this.asyncTicker.register(uniqueId, page, holder.getContents());
+      } else {
+        this.ticker.register(uniqueId, page, holder.getContents());
+      }
+    });
+  }
 }
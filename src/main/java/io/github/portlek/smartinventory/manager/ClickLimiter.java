@@ -0,0 +1,267 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.smartinventory.manager;
+
+import io.github.portlek.smartinventory.util.SlotMask;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * a class that limits the icon clicks of the players.
+ * <p>
+ * each player, or each slot of each player if per icon is enabled, has a token bucket which is refilled with the rate
+ * per second up to the burst. a click takes a token, the clicks which find no token are throttled. if a debounce is
+ * set, the repeated clicks on the same slot within the debounce are coalesced into the first click.
+ * <p>
+ * the buckets are kept in primitive arrays which are indexed by the player index, the indexes of the quit players are
+ * reused. the limiter is not limiting until a rate is set.
+ */
+public final class ClickLimiter {
+
+  /**
+   * the initial player capacity.
+   */
+  private static final int INITIAL_CAPACITY = 16;
+
+  /**
+   * the free player indexes.
+   */
+  private final Queue<Integer> free = new ArrayDeque<>();
+
+  /**
+   * the player indexes.
+   */
+  private final Map<UUID, Integer> indexes = new HashMap<>();
+
+  /**
+   * the count of the clicks which are allowed.
+   */
+  @Getter
+  private long allowed;
+
+  /**
+   * the max token count of a bucket.
+   */
+  private double burst = 1.0d;
+
+  /**
+   * the debounce in nanoseconds.
+   */
+  private long debounce;
+
+  /**
+   * the count of the clicks which are coalesced by the debounce.
+   */
+  @Getter
+  private long debounced;
+
+  /**
+   * the last click times of the players.
+   */
+  private long[] lastClicks = new long[ClickLimiter.INITIAL_CAPACITY];
+
+  /**
+   * the last clicked slots of the players.
+   */
+  private int[] lastSlots = new int[ClickLimiter.INITIAL_CAPACITY];
+
+  /**
+   * the per icon.
+   */
+  @Getter
+  private boolean perIcon;
+
+  /**
+   * the token count per second.
+   */
+  @Getter
+  private double rate;
+
+  /**
+   * the last refill times of the buckets.
+   */
+  private long[] refills = new long[ClickLimiter.INITIAL_CAPACITY];
+
+  /**
+   * the count of the clicks which are throttled.
+   */
+  @Getter
+  private long throttled;
+
+  /**
+   * the token counts of the buckets.
+   */
+  private double[] tokens = new double[ClickLimiter.INITIAL_CAPACITY];
+
+  /**
+   * gets the debounce.
+   *
+   * @return the debounce in milliseconds.
+   */
+  public long getDebounce() {
+    return TimeUnit.NANOSECONDS.toMillis(this.debounce);
+  }
+
+  /**
+   * removes the buckets of the given player.
+   *
+   * @param uniqueId the unique id of the player.
+   */
+  public void remove(@NotNull final UUID uniqueId) {
+    final var index = this.indexes.remove(uniqueId);
+    if (index != null) {
+      this.free.add(index);
+    }
+  }
+
+  /**
+   * sets the debounce.
+   *
+   * @param millis the debounce in milliseconds, zero to disable.
+   */
+  public void setDebounce(final long millis) {
+    this.debounce = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, millis));
+  }
+
+  /**
+   * sets the per icon.
+   * <p>
+   * if it is {@code true}, every slot has its own bucket, so clicking an icon does not throttle the others.
+   *
+   * @param perIcon the per icon to set.
+   */
+  public void setPerIcon(final boolean perIcon) {
+    if (this.perIcon == perIcon) {
+      return;
+    }
+    this.perIcon = perIcon;
+    this.tokens = new double[this.lastSlots.length * this.bucketsPerPlayer()];
+    this.refills = new long[this.tokens.length];
+    Arrays.fill(this.tokens, this.burst);
+    Arrays.fill(this.refills, System.nanoTime());
+  }
+
+  /**
+   * sets the rate and the burst.
+   *
+   * @param rate the token count per second, zero to disable.
+   * @param burst the max token count of a bucket.
+   */
+  public void setRate(final double rate, final int burst) {
+    this.rate = Math.max(0.0d, rate);
+    this.burst = Math.max(1, burst);
+  }
+
+  /**
+   * tries to acquire a click of the given player on the given slot.
+   *
+   * @param uniqueId the unique id of the player.
+   * @param slot the clicked slot.
+   *
+   * @return {@code true} if the click is allowed.
+   */
+  public boolean tryAcquire(@NotNull final UUID uniqueId, final int slot) {
+    if (this.rate <= 0.0d && this.debounce <= 0L) {
+      this.allowed++;
+      return true;
+    }
+    final var now = System.nanoTime();
+    final var index = this.index(uniqueId);
+    if (this.debounce > 0L && this.lastSlots[index] == slot && now - this.lastClicks[index] < this.debounce) {
+      this.debounced++;
+      return false;
+    }
+    if (this.rate > 0.0d) {
+      final var bucket = this.perIcon ? index * SlotMask.SIZE + Math.floorMod(slot, SlotMask.SIZE) : index;
+      final var elapsed = now - this.refills[bucket];
+      this.refills[bucket] = now;
+      final var refilled = Math.min(this.burst,
+        this.tokens[bucket] + elapsed * this.rate / TimeUnit.SECONDS.toNanos(1L));
+      if (refilled < 1.0d) {
+        this.tokens[bucket] = refilled;
+        this.throttled++;
+        return false;
+      }
+      this.tokens[bucket] = refilled - 1.0d;
+    }
+    this.lastSlots[index] = slot;
+    this.lastClicks[index] = now;
+    this.allowed++;
+    return true;
+  }
+
+  /**
+   * obtains the bucket count of a player.
+   *
+   * @return the bucket count.
+   */
+  private int bucketsPerPlayer() {
+    return this.perIcon ? SlotMask.SIZE : 1;
+  }
+
+  /**
+   * obtains the index of the given player, a new index is assigned and the buckets are filled if there is none.
+   *
+   * @param uniqueId the unique id of the player.
+   *
+   * @return the player index.
+   */
+  private int index(@NotNull final UUID uniqueId) {
+    final var current = this.indexes.get(uniqueId);
+    if (current != null) {
+      return current;
+    }
+    final var reused = this.free.poll();
+    final int index;
+    if (reused == null) {
+      index = this.indexes.size();
+      if (index >= this.lastSlots.length) {
+        final var capacity = this.lastSlots.length * 2;
+        this.lastSlots = Arrays.copyOf(this.lastSlots, capacity);
+        this.lastClicks = Arrays.copyOf(this.lastClicks, capacity);
+        this.tokens = Arrays.copyOf(this.tokens, capacity * this.bucketsPerPlayer());
+        this.refills = Arrays.copyOf(this.refills, this.tokens.length);
+      }
+    } else {
+      index = reused;
+    }
+    this.indexes.put(uniqueId, index);
+    final var now = System.nanoTime();
+    this.lastSlots[index] = -1;
+    this.lastClicks[index] = now;
+    final var buckets = this.bucketsPerPlayer();
+    Arrays.fill(this.tokens, index * buckets, index * buckets + buckets, this.burst);
+    Arrays.fill(this.refills, index * buckets, index * buckets + buckets, now);
+    return index;
+  }
+}
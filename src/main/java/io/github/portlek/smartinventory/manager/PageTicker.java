@@ -0,0 +1,492 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.smartinventory.manager;
+
+import io.github.portlek.smartinventory.InventoryContents;
+import io.github.portlek.smartinventory.Page;
+import io.github.portlek.smartinventory.event.PgTickEvent;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * a class that ticks all the opened pages of a manager with a single repeating task.
+ * <p>
+ * the contents are scheduled on a hashed timing wheel, each run only visits the slot of the current tick.
+ * the first tick of a contents is delayed by {@link Page#startDelay()} plus a phase between zero and
+ * {@link Page#tick()}, the least loaded phase is picked so the viewers of the same period are spread across the ticks
+ * instead of running all together.
+ * <p>
+ * if a budget is set, the due contents which could not be ticked in the budget are deferred to the next run, the
+ * deferred contents run first in the order they were deferred.
+ * <p>
+ * the flushes are not starved by the ticks, the oldest queued contents is flushed in every run even if the ticks
+ * spent the whole budget, so the slot changes of the clicks are always sent.
+ * <p>
+ * the contents which have changed slots are flushed once at the end of the run.
+ * <p>
+ * the async tickers run on the main thread as well, but they submit the page ticks to
+ * {@link io.github.portlek.smartinventory.SmartInventory#getExecutor()}. a page tick is skipped while the previous
+ * tick of the same contents is still running.
+ */
+@RequiredArgsConstructor
+public final class PageTicker implements Runnable {
+
+  /**
+   * the wheel size, must be a power of two.
+   */
+  private static final int WHEEL_SIZE = 256;
+
+  /**
+   * the wheel mask.
+   */
+  private static final int WHEEL_MASK = PageTicker.WHEEL_SIZE - 1;
+
+  /**
+   * the deferred entries.
+   */
+  private final Queue<Entry> deferred = new ArrayDeque<>();
+
+  /**
+   * the entries.
+   */
+  private final Map<UUID, Entry> entries = new HashMap<>();
+
+  /**
+   * the contents to flush.
+   */
+  private final Queue<InventoryContents> flushes = new ConcurrentLinkedQueue<>();
+
+  /**
+   * the pending registrations.
+   */
+  private final Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+
+  /**
+   * the slot sizes of the wheel.
+   */
+  private final int[] sizes = new int[PageTicker.WHEEL_SIZE];
+
+  /**
+   * the slot heads of the wheel.
+   */
+  private final Entry[] wheel = new Entry[PageTicker.WHEEL_SIZE];
+
+  /**
+   * the async.
+   */
+  private final boolean async;
+
+  /**
+   * the budget in nanoseconds.
+   */
+  private long budget;
+
+  /**
+   * the current tick.
+   */
+  private long currentTick;
+
+  /**
+   * the count of the deferred contents flushes.
+   */
+  @Getter
+  private long deferredFlushes;
+
+  /**
+   * the count of the deferred contents ticks.
+   */
+  @Getter
+  private long deferredTicks;
+
+  /**
+   * the count of the runs that exhausted the budget.
+   */
+  @Getter
+  private long exhaustedRuns;
+
+  /**
+   * the count of the async page ticks which were skipped since the previous tick was still running.
+   */
+  @Getter
+  private long overrunTicks;
+
+  /**
+   * the plugin.
+   */
+  @Nullable
+  private Plugin plugin;
+
+  /**
+   * queues the given contents to flush at the end of the run.
+   *
+   * @param contents the contents to flush.
+   */
+  public void flushLater(@NotNull final InventoryContents contents) {
+    this.flushes.add(contents);
+  }
+
+  /**
+   * obtains the budget of a run.
+   *
+   * @return the budget in milliseconds, zero if there is no budget.
+   */
+  public long getBudget() {
+    return TimeUnit.NANOSECONDS.toMillis(this.budget);
+  }
+
+  /**
+   * registers the given contents to tick with the given page.
+   * <p>
+   * the registration is applied before the next run.
+   *
+   * @param uniqueId the unique id to register.
+   * @param page the page to register.
+   * @param contents the contents to register.
+   */
+  public void register(@NotNull final UUID uniqueId, @NotNull final Page page,
+                       @NotNull final InventoryContents contents) {
+    this.pending.add(() -> {
+      this.remove(uniqueId);
+      final var period = Math.max(1L, page.tick());
+      final var first = this.currentTick + Math.max(1L, page.startDelay()) - 1L;
+      final var entry = new Entry(contents, page, period);
+      entry.deadline = first + this.phase(first, period);
+      this.entries.put(uniqueId, entry);
+      this.link(entry);
+    });
+  }
+
+  @Override
+  public void run() {
+    final var start = System.nanoTime();
+    Runnable registration;
+    while ((registration = this.pending.poll()) != null) {
+      registration.run();
+    }
+    final var now = this.currentTick++;
+    var entry = this.wheel[(int) now & PageTicker.WHEEL_MASK];
+    while (entry != null) {
+      final var next = entry.next;
+      if (entry.deadline <= now) {
+        this.unlink(entry);
+        this.deferred.add(entry);
+      }
+      entry = next;
+    }
+    var exhausted = false;
+    while ((entry = this.deferred.peek()) != null) {
+      if (this.exhausted(start)) {
+        exhausted = true;
+        this.deferredTicks += this.deferred.size();
+        break;
+      }
+      this.deferred.poll();
+      this.tick(entry);
+      entry.deadline = now + entry.period;
+      this.link(entry);
+    }
+    var flushed = false;
+    InventoryContents contents;
+    while ((contents = this.flushes.peek()) != null) {
+      if (flushed && this.exhausted(start)) {
+        exhausted = true;
+        this.deferredFlushes += this.flushes.size();
+        break;
+      }
+      this.flushes.poll();
+      contents.flush();
+      flushed = true;
+    }
+    if (exhausted) {
+      this.exhaustedRuns++;
+    }
+  }
+
+  /**
+   * sets the budget of a run.
+   *
+   * @param millis the budget in milliseconds, zero or less to remove the budget.
+   */
+  public void setBudget(final long millis) {
+    this.budget = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, millis));
+  }
+
+  /**
+   * starts the repeating task of the ticker.
+   *
+   * @param plugin the plugin to start.
+   */
+  public void start(@NotNull final Plugin plugin) {
+    if (this.plugin != null) {
+      return;
+    }
+    this.plugin = plugin;
+    Bukkit.getScheduler().runTaskTimer(plugin, this, 1L, 1L);
+  }
+
+  /**
+   * unregisters the given unique id.
+   * <p>
+   * the unregistration is applied before the next run.
+   *
+   * @param uniqueId the unique id to unregister.
+   */
+  public void unregister(@NotNull final UUID uniqueId) {
+    this.pending.add(() -> this.remove(uniqueId));
+  }
+
+  /**
+   * checks if the budget of the run is spent.
+   *
+   * @param start the start time of the run.
+   *
+   * @return {@code true} if the budget is spent.
+   */
+  private boolean exhausted(final long start) {
+    return this.budget > 0L && System.nanoTime() - start >= this.budget;
+  }
+
+  /**
+   * links the given entry into the slot of its deadline.
+   *
+   * @param entry the entry to link.
+   */
+  private void link(@NotNull final Entry entry) {
+    final var slot = (int) entry.deadline & PageTicker.WHEEL_MASK;
+    final var head = this.wheel[slot];
+    entry.slot = slot;
+    entry.previous = null;
+    entry.next = head;
+    if (head != null) {
+      head.previous = entry;
+    }
+    this.wheel[slot] = entry;
+    this.sizes[slot]++;
+    entry.linked = true;
+  }
+
+  /**
+   * logs the given error of the given entry's tick.
+   *
+   * @param entry the entry to log.
+   * @param throwable the error to log.
+   */
+  private void log(@NotNull final Entry entry, @NotNull final Throwable throwable) {
+    if (this.plugin != null) {
+      this.plugin.getLogger().log(Level.SEVERE, "An error occurred while ticking the page " + entry.page.id(),
+        throwable);
+    }
+  }
+
+  /**
+   * finds the least loaded phase for the given period, starting from the given tick.
+   *
+   * @param first the first tick to find.
+   * @param period the period to find.
+   *
+   * @return the phase offset.
+   */
+  private long phase(final long first, final long period) {
+    final var window = (int) Math.min(period, PageTicker.WHEEL_SIZE);
+    var phase = 0;
+    var load = Integer.MAX_VALUE;
+    for (var offset = 0; offset < window; offset++) {
+      final var size = this.sizes[(int) (first + offset) & PageTicker.WHEEL_MASK];
+      if (size < load) {
+        load = size;
+        phase = offset;
+        if (size == 0) {
+          break;
+        }
+      }
+    }
+    return phase;
+  }
+
+  /**
+   * removes the given unique id's entry from the wheel.
+   *
+   * @param uniqueId the unique id to remove.
+   */
+  private void remove(@NotNull final UUID uniqueId) {
+    final var entry = this.entries.remove(uniqueId);
+    if (entry == null) {
+      return;
+    }
+    if (entry.linked) {
+      this.unlink(entry);
+    } else {
+      this.deferred.remove(entry);
+    }
+  }
+
+  /**
+   * runs the tick handles and the provider tick of the given entry.
+   * <p>
+   * the async ticks run in bulk mode, so their slot changes are published as one frame, or discarded if the tick
+   * throws.
+   *
+   * @param entry the entry to run.
+   */
+  private void runTick(@NotNull final Entry entry) {
+    final Consumer<InventoryContents> tick = contents -> {
+      if (entry.page.hasHandle(PgTickEvent.class)) {
+        entry.page.accept(new PgTickEvent(contents));
+      }
+      entry.page.provider().tick(contents);
+    };
+    try {
+      if (this.async) {
+        entry.contents.bulk(tick);
+      } else {
+        tick.accept(entry.contents);
+      }
+    } catch (final Throwable throwable) {
+      this.log(entry, throwable);
+    }
+  }
+
+  /**
+   * ticks the given entry.
+   *
+   * @param entry the entry to tick.
+   */
+  private void tick(@NotNull final Entry entry) {
+    if (!entry.contents.isBound()) {
+      return;
+    }
+    if (!this.async) {
+      this.runTick(entry);
+      return;
+    }
+    if (entry.running) {
+      this.overrunTicks++;
+      return;
+    }
+    entry.running = true;
+    try {
+      entry.page.inventory().getExecutor().execute(() -> {
+        try {
+          this.runTick(entry);
+        } finally {
+          entry.running = false;
+        }
+      });
+    } catch (final RuntimeException exception) {
+      entry.running = false;
+      this.log(entry, exception);
+    }
+  }
+
+  /**
+   * unlinks the given entry from its slot.
+   *
+   * @param entry the entry to unlink.
+   */
+  private void unlink(@NotNull final Entry entry) {
+    if (entry.previous == null) {
+      this.wheel[entry.slot] = entry.next;
+    } else {
+      entry.previous.next = entry.next;
+    }
+    if (entry.next != null) {
+      entry.next.previous = entry.previous;
+    }
+    entry.previous = null;
+    entry.next = null;
+    this.sizes[entry.slot]--;
+    entry.linked = false;
+  }
+
+  /**
+   * a class that represents ticking contents in a slot of the wheel.
+   */
+  @RequiredArgsConstructor
+  private static final class Entry {
+
+    /**
+     * the contents.
+     */
+    @NotNull
+    private final InventoryContents contents;
+
+    /**
+     * the page.
+     */
+    @NotNull
+    private final Page page;
+
+    /**
+     * the period.
+     */
+    private final long period;
+
+    /**
+     * the deadline.
+     */
+    private long deadline;
+
+    /**
+     * the linked.
+     */
+    private boolean linked;
+
+    /**
+     * the next.
+     */
+    @Nullable
+    private Entry next;
+
+    /**
+     * the previous.
+     */
+    @Nullable
+    private Entry previous;
+
+    /**
+     * the running, the async ticks set this off the main thread.
+     */
+    private volatile boolean running;
+
+    /**
+     * the slot.
+     */
+    private int slot;
+  }
+}
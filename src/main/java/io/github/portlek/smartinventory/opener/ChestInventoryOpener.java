@@ -27,7 +27,9 @@ package io.github.portlek.smartinventory.opener;
 
 import io.github.portlek.smartinventory.InventoryContents;
 import io.github.portlek.smartinventory.InventoryOpener;
+import io.github.portlek.smartinventory.SmartInventory;
 import io.github.portlek.smartinventory.holder.SmartInventoryHolder;
+import io.github.portlek.smartinventory.util.SlotMask;
 import org.bukkit.Bukkit;
 import org.bukkit.event.inventory.InventoryType;
 import org.bukkit.inventory.Inventory;
@@ -42,11 +44,11 @@ public final class ChestInventoryOpener implements InventoryOpener {
   @Override
   public Inventory open(@NotNull final InventoryContents contents) {
     final var page = contents.page();
-    if (page.column() != 9) {
+    if (page.column() != SlotMask.COLUMNS) {
       throw new IllegalArgumentException(
         String.format("The column count for the chest inventory must be 9, found: %s.", page.column()));
     }
-    if (page.row() < 1 && page.row() > 6) {
+    if (page.row() < 1 || page.row() > SlotMask.ROWS) {
       throw new IllegalArgumentException(
         String.format("The row count for the chest inventory must be between 1 and 6, found: %s", page.row()));
     }
@@ -54,6 +56,7 @@ public final class ChestInventoryOpener implements InventoryOpener {
     holder.setActive(true);
     final var handle = Bukkit.createInventory(holder, page.row() * page.column(), page.title());
     this.fill(handle, contents);
+    SmartInventory.registerHolder(handle, holder);
     contents.player().openInventory(handle);
     return handle;
   }
@@ -31,6 +31,7 @@ import io.github.portlek.smartinventory.Handle;
 import io.github.portlek.smartinventory.InventoryContents;
 import io.github.portlek.smartinventory.InventoryProvider;
 import io.github.portlek.smartinventory.Page;
+import io.github.portlek.smartinventory.SmartHolder;
 import io.github.portlek.smartinventory.SmartInventory;
 import io.github.portlek.smartinventory.content.BasicInventoryContents;
 import io.github.portlek.smartinventory.event.PgCloseEvent;
@@ -38,8 +39,9 @@ import io.github.portlek.smartinventory.event.PgInitEvent;
 import io.github.portlek.smartinventory.event.PgUpdateEvent;
 import io.github.portlek.smartinventory.event.abs.CloseEvent;
 import io.github.portlek.smartinventory.event.abs.PageEvent;
-import java.util.ArrayList;
-import java.util.Collection;
+import io.github.portlek.smartinventory.handle.HandleTable;
+import io.github.portlek.smartinventory.holder.SmartInventoryHolder;
+import io.github.portlek.smartinventory.listener.ListenerDispatcher;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Predicate;
@@ -60,7 +62,7 @@ public final class BasicPage implements Page {
   /**
    * the handles.
    */
-  private final Collection<Handle<? extends PageEvent>> handles = new ArrayList<>();
+  private final HandleTable<PageEvent> handles = new HandleTable<>();
 
   /**
    * the inventory manager.
@@ -97,6 +99,11 @@ public final class BasicPage implements Page {
    */
   private int column = 9;
 
+  /**
+   * the full resync.
+   */
+  private boolean fullResync = false;
+
   /**
    * the id.
    */
@@ -152,10 +159,7 @@ public final class BasicPage implements Page {
 
   @Override
   public <T extends PageEvent> void accept(@NotNull final T event) {
-    this.handles.stream()
-      .filter(handle -> handle.type().isAssignableFrom(event.getClass()))
-      .map(handle -> (Handle<T>) handle)
-      .forEach(handle -> handle.accept(event));
+    this.handles.accept(event);
   }
 
   @Override
@@ -187,6 +191,7 @@ public final class BasicPage implements Page {
     SmartInventory.getHolder(player).ifPresent(holder -> {
       this.accept(new PgCloseEvent(holder.getContents(), new InventoryCloseEvent(player.getOpenInventory())));
       this.inventory().stopTick(player.getUniqueId());
+      this.inventory().removeViewer(player.getUniqueId(), holder);
       this.source.unsubscribe(this.provider());
       holder.setActive(false);
       player.closeInventory();
@@ -205,6 +210,18 @@ public final class BasicPage implements Page {
     return this;
   }
 
+  @Override
+  public boolean fullResync() {
+    return this.fullResync;
+  }
+
+  @NotNull
+  @Override
+  public Page fullResync(final boolean fullResync) {
+    this.fullResync = fullResync;
+    return this;
+  }
+
   @NotNull
   @Override
   public <T extends PageEvent> Page handle(@NotNull final Handle<T> handle) {
@@ -212,6 +229,11 @@ public final class BasicPage implements Page {
     return this;
   }
 
+  @Override
+  public boolean hasHandle(@NotNull final Class<? extends PageEvent> type) {
+    return this.handles.has(type);
+  }
+
   @NotNull
   @Override
   public Page id(@NotNull final String id) {
@@ -253,6 +275,7 @@ public final class BasicPage implements Page {
     this.accept(new PgInitEvent(contents));
     this.provider().init(contents);
     final var opened = opener.open(contents);
+    this.register(player, contents, opened);
     if (this.tickEnable()) {
       this.inventory().tick(player.getUniqueId(), this);
     }
@@ -345,4 +368,36 @@ public final class BasicPage implements Page {
     this.title = title;
     return this;
   }
+
+  /**
+   * registers the given opened inventory for the given player, whichever opener opened it.
+   * <p>
+   * the inventory is registered with {@link SmartInventory#registerHolder(Inventory, SmartHolder)}, the contents is
+   * bound to it and the player is set as a viewer only if the player sees the inventory, since another plugin may
+   * cancel the open.
+   *
+   * @param player the player to register.
+   * @param contents the contents to register.
+   * @param opened the opened inventory to register.
+   */
+  private void register(@NotNull final Player player, @NotNull final InventoryContents contents,
+                        @NotNull final Inventory opened) {
+    if (!opened.equals(player.getOpenInventory().getTopInventory())) {
+      ListenerDispatcher.removeInventory(opened);
+      return;
+    }
+    final var holder = ListenerDispatcher.computeInventory(opened, inventory -> {
+      final var owner = inventory.getHolder();
+      final SmartHolder created;
+      if (owner instanceof SmartHolder && ((SmartHolder) owner).getContents() == contents) {
+        created = (SmartHolder) owner;
+      } else {
+        created = new SmartInventoryHolder(contents);
+      }
+      created.setActive(true);
+      return created;
+    });
+    contents.bind(opened);
+    this.inventory().setViewer(player.getUniqueId(), holder);
+  }
 }
@@ -31,6 +31,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Predicate;
 import java.util.stream.IntStream;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -137,6 +138,34 @@ public final class Pattern<T> {
     return positions;
   }
 
+  /**
+   * same as {@link #findAllKeys(char)}, but returns the positions packed with {@link SlotPos#pack(int, int)}.
+   *
+   * @param character The character key to look for.
+   *
+   * @return an array containing all packed positions where that key occurs.
+   */
+  public int[] findAllKeysPacked(final char character) {
+    var count = 0;
+    for (final var line : this.lines) {
+      for (var column = 0; column < line.length(); column++) {
+        if (line.charAt(column) == character) {
+          count++;
+        }
+      }
+    }
+    final var positions = new int[count];
+    var index = 0;
+    for (var row = 0; row < this.getRowCount(); row++) {
+      for (var column = 0; column < this.getColumnCount(); column++) {
+        if (this.lines[row].charAt(column) == character) {
+          positions[index++] = SlotPos.pack(row, column);
+        }
+      }
+    }
+    return positions;
+  }
+
   /**
    * searches through this patterns lines to find the first top-left occurrence of this key.
    * if it could not be found, the returned {@link Optional} is empty.
@@ -147,14 +176,42 @@ public final class Pattern<T> {
    */
   @NotNull
   public Optional<SlotPos> findKey(final char character) {
+    final var packed = this.findKeyPacked(character);
+    if (packed == -1) {
+      return Optional.empty();
+    }
+    return Optional.of(SlotPos.unpack(packed));
+  }
+
+  /**
+   * same as {@link #findKey(char)}, but returns the position packed with {@link SlotPos#pack(int, int)}.
+   *
+   * @param character The character key to look for.
+   *
+   * @return the packed position in this pattern, or {@code -1} if it could not be found.
+   */
+  public int findKeyPacked(final char character) {
     for (var row = 0; row < this.getRowCount(); row++) {
-      for (var column = 0; column < this.getColumnCount(); column++) {
-        if (this.lines[row].charAt(column) == character) {
-          return Optional.of(SlotPos.of(row, column));
-        }
+      final var column = this.lines[row].indexOf(character);
+      if (column != -1) {
+        return SlotPos.pack(row, column);
       }
     }
-    return Optional.empty();
+    return -1;
+  }
+
+  /**
+   * same as {@link #getObject(int, int)}, but with a position packed with {@link SlotPos#pack(int, int)}.
+   *
+   * @param packed The packed position of the key.
+   *
+   * @return The object associated with the key, or the default object.
+   *
+   * @see #getObject(int, int) For the more detailed information.
+   */
+  @NotNull
+  public Optional<T> getObjectPacked(final int packed) {
+    return this.getObject(SlotPos.unpackRow(packed), SlotPos.unpackColumn(packed));
   }
 
   /**
@@ -266,6 +323,61 @@ public final class Pattern<T> {
     return this.wrapAround;
   }
 
+  /**
+   * creates a {@link SlotMask} of the chest inventory slots whose objects match the given filter.
+   * <p>
+   * the top-left corner of the pattern is placed at the given offset. if wrapAround is set to {@code true}, the
+   * pattern is repeated over the whole inventory, if not, the slots outside of the pattern are not contained. the
+   * mask uses the {@value SlotMask#ROWS} rows and {@value SlotMask#COLUMNS} columns of the largest chest inventory.
+   *
+   * @param filter the filter to test the objects.
+   * @param rowOffset the row offset of the pattern.
+   * @param columnOffset the column offset of the pattern.
+   *
+   * @return a mask that contains the matching slots.
+   */
+  @NotNull
+  public SlotMask mask(@NotNull final Predicate<T> filter, final int rowOffset, final int columnOffset) {
+    return this.mask(filter, rowOffset, columnOffset, SlotMask.ROWS, SlotMask.COLUMNS);
+  }
+
+  /**
+   * creates a {@link SlotMask} of the inventory slots whose objects match the given filter.
+   * <p>
+   * the slot indexes of the mask are computed with the given column count, so it matches the slot indexes of an
+   * inventory which has the given size.
+   *
+   * @param filter the filter to test the objects.
+   * @param rowOffset the row offset of the pattern.
+   * @param columnOffset the column offset of the pattern.
+   * @param rows the row count of the inventory.
+   * @param columns the column count of the inventory.
+   *
+   * @return a mask that contains the matching slots.
+   */
+  @NotNull
+  public SlotMask mask(@NotNull final Predicate<T> filter, final int rowOffset, final int columnOffset,
+                       final int rows, final int columns) {
+    Preconditions.checkArgument(rows >= 0 && columns >= 0 && rows * columns <= SlotMask.SIZE,
+      "The inventory can have at most %s slots", SlotMask.SIZE);
+    var bits = 0L;
+    for (var row = 0; row < rows; row++) {
+      for (var column = 0; column < columns; column++) {
+        final var patternRow = row - rowOffset;
+        final var patternColumn = column - columnOffset;
+        if (!this.wrapAround && (patternRow < 0 || patternRow >= this.getRowCount() ||
+          patternColumn < 0 || patternColumn >= this.getColumnCount())) {
+          continue;
+        }
+        final var object = this.getObject(patternRow, patternColumn);
+        if (object.isPresent() && filter.test(object.get())) {
+          bits |= 1L << row * columns + column;
+        }
+      }
+    }
+    return SlotMask.of(bits);
+  }
+
   /**
    * sets a new default value, which can be null and will override the previous value if present.
    *
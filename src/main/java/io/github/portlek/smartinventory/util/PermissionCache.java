@@ -0,0 +1,170 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.smartinventory.util;
+
+import io.github.portlek.smartinventory.InventoryContents;
+import io.github.portlek.smartinventory.event.PermissionsRecalculateEvent;
+import io.github.portlek.smartinventory.event.abs.SmartEvent;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import lombok.RequiredArgsConstructor;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * an utility class that caches the permission checks of the players.
+ * <p>
+ * the results are cached per player and permission. bukkit has no event for the permission attachment changes, so
+ * the cache of a player expires after a short time to live, and is dropped immediately when the operator status of
+ * the player changes, when the player joins or quits, or when a {@link PermissionsRecalculateEvent} is called for the
+ * player. the plugins which change the permission attachments of the players can call that event to apply the
+ * changes before the cache expires.
+ * <p>
+ * the cache holds at most one entry per online player and checked permission.
+ */
+public final class PermissionCache {
+
+  /**
+   * the cached results by player.
+   */
+  private static final Map<UUID, Entry> CACHE = new ConcurrentHashMap<>();
+
+  /**
+   * the time to live in nanoseconds.
+   */
+  private static volatile long ttl = TimeUnit.SECONDS.toNanos(5L);
+
+  /**
+   * ctor.
+   */
+  private PermissionCache() {
+  }
+
+  /**
+   * checks if the given player has the given permission.
+   *
+   * @param player the player to check.
+   * @param permission the permission to check.
+   *
+   * @return {@code true} if the player has the permission.
+   */
+  public static boolean has(@NotNull final Player player, @NotNull final String permission) {
+    final var timeToLive = PermissionCache.ttl;
+    if (timeToLive <= 0L) {
+      return player.hasPermission(permission);
+    }
+    final var now = System.nanoTime();
+    final var op = player.isOp();
+    final var entry = PermissionCache.CACHE.compute(player.getUniqueId(), (uniqueId, cached) -> {
+      if (cached == null || cached.op != op || now - cached.time >= timeToLive) {
+        return new Entry(op, now);
+      }
+      return cached;
+    });
+    return entry.results.computeIfAbsent(permission, player::hasPermission);
+  }
+
+  /**
+   * drops the cached results of the given unique id.
+   *
+   * @param uniqueId the unique id to invalidate.
+   */
+  public static void invalidate(@NotNull final UUID uniqueId) {
+    PermissionCache.CACHE.remove(uniqueId);
+  }
+
+  /**
+   * drops the cached results of all the players.
+   */
+  public static void invalidateAll() {
+    PermissionCache.CACHE.clear();
+  }
+
+  /**
+   * creates a requirement that checks the given permission of the contents' player.
+   * <p>
+   * the requirement can be used as {@code canSee} or {@code canUse} predicate of the icons.
+   *
+   * @param permission the permission to check.
+   *
+   * @return a permission requirement.
+   */
+  @NotNull
+  public static Predicate<InventoryContents> of(@NotNull final String permission) {
+    return contents -> PermissionCache.has(contents.player(), permission);
+  }
+
+  /**
+   * creates a requirement that checks the given permission of the event's player.
+   * <p>
+   * the requirement can be used as a requirement of the handles.
+   *
+   * @param permission the permission to check.
+   * @param <T> type of the event.
+   *
+   * @return a permission requirement.
+   */
+  @NotNull
+  public static <T extends SmartEvent> Predicate<T> requirement(@NotNull final String permission) {
+    return event -> PermissionCache.has(event.contents().player(), permission);
+  }
+
+  /**
+   * sets the time to live of the cached results.
+   *
+   * @param ttl the time to live, zero or less to disable the cache.
+   * @param unit the unit of the time to live.
+   */
+  public static void setTtl(final long ttl, @NotNull final TimeUnit unit) {
+    PermissionCache.ttl = Math.max(0L, unit.toNanos(ttl));
+    PermissionCache.invalidateAll();
+  }
+
+  /**
+   * a class that represents cached results of players.
+   */
+  @RequiredArgsConstructor
+  private static final class Entry {
+
+    /**
+     * the results by permission.
+     */
+    private final Map<String, Boolean> results = new ConcurrentHashMap<>();
+
+    /**
+     * the operator status of the player when the entry was created.
+     */
+    private final boolean op;
+
+    /**
+     * the creation time in nanoseconds.
+     */
+    private final long time;
+  }
+}
@@ -184,6 +184,33 @@ public final class ReflectionUtils {
         for (final var packet : packets) {
           ReflectionUtils.SEND_PACKET.invoke(connection, packet);
         }
+
+  /**
+   * Sends the packets to the player synchronously and reports the failures, unlike
+   * {@link #sendPacketSync(Player, Object...)} which swallows them.
+   *
+   * @param player the player to send the packets to.
+   * @param packets the packets to send.
+   *
+   * @return {@code true} if all the packets were sent.
+   *
+   * @see #sendPacketSync(Player, Object...)
+   */
+  public static boolean trySendPacketSync(@NotNull final Player player, @NotNull final Object... packets) {
+    try {
+      final var handle = ReflectionUtils.GET_HANDLE.invoke(player);
+      final var connection = ReflectionUtils.PLAYER_CONNECTION.invoke(handle);
+      if (connection == null) {
+        return false;
+      }
+      for (final var packet : packets) {
+        ReflectionUtils.SEND_PACKET.invoke(connection, packet);
+      }
+      return true;
+    } catch (final Throwable throwable) {
+      return false;
+    }
+  }
       }
     } catch (final Throwable throwable) {
       throwable.printStackTrace();
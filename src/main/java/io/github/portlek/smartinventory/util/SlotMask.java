@@ -0,0 +1,485 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.smartinventory.util;
+
+import com.google.common.base.Preconditions;
+import java.util.function.IntConsumer;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * represents an immutable set of slots of a chest inventory.
+ * <p>
+ * a chest inventory has at most {@value #SIZE} slots, so the set is stored in the bits of a single long, the slot index
+ * is the bit index. the row and column methods without a column count use {@value #COLUMNS} columns per row, the
+ * others use the given column count, so the masks of a smaller inventory, such as a hopper or a dispenser, should be
+ * built with its own column count.
+ */
+@ToString
+@EqualsAndHashCode
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class SlotMask {
+
+  /**
+   * the column count of a row.
+   */
+  public static final int COLUMNS = 9;
+
+  /**
+   * the maximum row count.
+   */
+  public static final int ROWS = 6;
+
+  /**
+   * the maximum slot count.
+   */
+  public static final int SIZE = SlotMask.ROWS * SlotMask.COLUMNS;
+
+  /**
+   * the bits of all the slots.
+   */
+  private static final long ALL_BITS = (1L << SlotMask.SIZE) - 1L;
+
+  /**
+   * the mask that contains all the slots.
+   */
+  public static final SlotMask ALL = new SlotMask(SlotMask.ALL_BITS);
+
+  /**
+   * the mask that contains no slot.
+   */
+  public static final SlotMask EMPTY = new SlotMask(0L);
+
+  /**
+   * the bits.
+   */
+  @Getter
+  private final long bits;
+
+  /**
+   * creates a mask that contains the slots of the given column.
+   *
+   * @param column the column to create.
+   *
+   * @return a mask that contains the column.
+   */
+  @NotNull
+  public static SlotMask column(final int column) {
+    return SlotMask.column(column, SlotMask.ROWS, SlotMask.COLUMNS);
+  }
+
+  /**
+   * creates a mask that contains the slots of the given column.
+   *
+   * @param column the column to create.
+   * @param rows the row count of the inventory.
+   * @param columns the column count of the inventory.
+   *
+   * @return a mask that contains the column.
+   */
+  @NotNull
+  public static SlotMask column(final int column, final int rows, final int columns) {
+    return SlotMask.rect(0, column, rows - 1, column, columns);
+  }
+
+  /**
+   * creates a mask from the given bits.
+   * <p>
+   * the bits after {@value #SIZE} are ignored.
+   *
+   * @param bits the bits to create.
+   *
+   * @return a mask that contains the slots of the bits.
+   */
+  @NotNull
+  public static SlotMask of(final long bits) {
+    final var masked = bits & SlotMask.ALL_BITS;
+    if (masked == 0L) {
+      return SlotMask.EMPTY;
+    }
+    if (masked == SlotMask.ALL_BITS) {
+      return SlotMask.ALL;
+    }
+    return new SlotMask(masked);
+  }
+
+  /**
+   * creates a mask that contains the slots of the given rectangle.
+   * <p>
+   * the positions are inclusive and they can be given in any order.
+   *
+   * @param fromRow the first row of the rectangle.
+   * @param fromColumn the first column of the rectangle.
+   * @param toRow the last row of the rectangle.
+   * @param toColumn the last column of the rectangle.
+   *
+   * @return a mask that contains the rectangle.
+   */
+  @NotNull
+  public static SlotMask rect(final int fromRow, final int fromColumn, final int toRow, final int toColumn) {
+    return SlotMask.rect(fromRow, fromColumn, toRow, toColumn, SlotMask.COLUMNS);
+  }
+
+  /**
+   * creates a mask that contains the slots of the given rectangle.
+   * <p>
+   * the positions are inclusive and they can be given in any order.
+   *
+   * @param fromRow the first row of the rectangle.
+   * @param fromColumn the first column of the rectangle.
+   * @param toRow the last row of the rectangle.
+   * @param toColumn the last column of the rectangle.
+   * @param columns the column count of the inventory.
+   *
+   * @return a mask that contains the rectangle.
+   */
+  @NotNull
+  public static SlotMask rect(final int fromRow, final int fromColumn, final int toRow, final int toColumn,
+                              final int columns) {
+    SlotMask.checkPosition(fromRow, fromColumn, columns);
+    SlotMask.checkPosition(toRow, toColumn, columns);
+    final var columnBits = (1L << Math.abs(toColumn - fromColumn) + 1) - 1L << Math.min(fromColumn, toColumn);
+    var bits = 0L;
+    for (var row = Math.min(fromRow, toRow); row <= Math.max(fromRow, toRow); row++) {
+      bits |= columnBits << row * columns;
+    }
+    return SlotMask.of(bits);
+  }
+
+  /**
+   * creates a mask that contains the slots of the given row.
+   *
+   * @param row the row to create.
+   *
+   * @return a mask that contains the row.
+   */
+  @NotNull
+  public static SlotMask row(final int row) {
+    return SlotMask.row(row, SlotMask.COLUMNS);
+  }
+
+  /**
+   * creates a mask that contains the slots of the given row.
+   *
+   * @param row the row to create.
+   * @param columns the column count of the inventory.
+   *
+   * @return a mask that contains the row.
+   */
+  @NotNull
+  public static SlotMask row(final int row, final int columns) {
+    return SlotMask.rect(row, 0, row, columns - 1, columns);
+  }
+
+  /**
+   * creates a mask that contains only the given slot.
+   *
+   * @param index the slot index to create.
+   *
+   * @return a mask that contains the slot.
+   */
+  @NotNull
+  public static SlotMask slot(final int index) {
+    return SlotMask.EMPTY.with(index);
+  }
+
+  /**
+   * creates a mask that contains only the given slot.
+   *
+   * @param row the row of the slot.
+   * @param column the column of the slot.
+   *
+   * @return a mask that contains the slot.
+   */
+  @NotNull
+  public static SlotMask slot(final int row, final int column) {
+    return SlotMask.EMPTY.with(row, column);
+  }
+
+  /**
+   * creates a mask that contains only the given slot.
+   *
+   * @param row the row of the slot.
+   * @param column the column of the slot.
+   * @param columns the column count of the inventory.
+   *
+   * @return a mask that contains the slot.
+   */
+  @NotNull
+  public static SlotMask slot(final int row, final int column, final int columns) {
+    return SlotMask.EMPTY.with(row, column, columns);
+  }
+
+  /**
+   * checks the given column count.
+   *
+   * @param columns the column count to check.
+   */
+  private static void checkColumns(final int columns) {
+    Preconditions.checkArgument(columns >= 1 && columns <= SlotMask.SIZE,
+      "The column count must be between 1 and %s", SlotMask.SIZE);
+  }
+
+  /**
+   * checks the given position.
+   *
+   * @param row the row to check.
+   * @param column the column to check.
+   * @param columns the column count of the inventory.
+   */
+  private static void checkPosition(final int row, final int column, final int columns) {
+    SlotMask.checkColumns(columns);
+    Preconditions.checkElementIndex(row, SlotMask.SIZE / columns, "The row must be between 0 and the row count");
+    Preconditions.checkElementIndex(column, columns, "The column must be between 0 and the column count");
+  }
+
+  /**
+   * checks if the mask contains the given slot.
+   *
+   * @param index the slot index to check.
+   *
+   * @return {@code true} if the mask contains the slot.
+   */
+  public boolean contains(final int index) {
+    return index >= 0 && index < SlotMask.SIZE && (this.bits & 1L << index) != 0L;
+  }
+
+  /**
+   * checks if the mask contains the given slot.
+   *
+   * @param row the row of the slot.
+   * @param column the column of the slot.
+   *
+   * @return {@code true} if the mask contains the slot.
+   */
+  public boolean contains(final int row, final int column) {
+    return this.contains(row, column, SlotMask.COLUMNS);
+  }
+
+  /**
+   * checks if the mask contains the given slot.
+   *
+   * @param row the row of the slot.
+   * @param column the column of the slot.
+   * @param columns the column count of the inventory.
+   *
+   * @return {@code true} if the mask contains the slot.
+   */
+  public boolean contains(final int row, final int column, final int columns) {
+    return column >= 0 && column < columns && this.contains(row * columns + column);
+  }
+
+  /**
+   * returns the first slot of the mask.
+   *
+   * @return the first slot index, or {@code -1} if the mask is empty.
+   */
+  public int first() {
+    return this.next(0);
+  }
+
+  /**
+   * runs the given consumer for each slot of the mask in ascending order.
+   *
+   * @param consumer the consumer to run.
+   */
+  public void forEach(@NotNull final IntConsumer consumer) {
+    var remaining = this.bits;
+    while (remaining != 0L) {
+      consumer.accept(Long.numberOfTrailingZeros(remaining));
+      remaining &= remaining - 1L;
+    }
+  }
+
+  /**
+   * creates a mask that contains the slots which are in both masks.
+   *
+   * @param other the other mask.
+   *
+   * @return the intersection of the masks.
+   */
+  @NotNull
+  public SlotMask intersect(@NotNull final SlotMask other) {
+    return SlotMask.of(this.bits & other.bits);
+  }
+
+  /**
+   * creates a mask that contains the slots which are not in {@code this}.
+   *
+   * @return the complement of the mask.
+   */
+  @NotNull
+  public SlotMask invert() {
+    return SlotMask.of(~this.bits);
+  }
+
+  /**
+   * checks if the mask is empty.
+   *
+   * @return {@code true} if the mask contains no slot.
+   */
+  public boolean isEmpty() {
+    return this.bits == 0L;
+  }
+
+  /**
+   * creates a mask that contains the slots of {@code this} which are not in the other mask.
+   *
+   * @param other the other mask.
+   *
+   * @return the difference of the masks.
+   */
+  @NotNull
+  public SlotMask minus(@NotNull final SlotMask other) {
+    return SlotMask.of(this.bits & ~other.bits);
+  }
+
+  /**
+   * returns the first slot of the mask which is equal to or greater than the given slot.
+   *
+   * @param from the slot index to start.
+   *
+   * @return the found slot index, or {@code -1} if there is no such slot.
+   */
+  public int next(final int from) {
+    if (from >= SlotMask.SIZE) {
+      return -1;
+    }
+    final var remaining = this.bits & -1L << Math.max(0, from);
+    return remaining == 0L ? -1 : Long.numberOfTrailingZeros(remaining);
+  }
+
+  /**
+   * returns the slot count of the mask.
+   *
+   * @return the slot count.
+   */
+  public int size() {
+    return Long.bitCount(this.bits);
+  }
+
+  /**
+   * creates a mask that contains the slots which are in any of the masks.
+   *
+   * @param other the other mask.
+   *
+   * @return the union of the masks.
+   */
+  @NotNull
+  public SlotMask union(@NotNull final SlotMask other) {
+    return SlotMask.of(this.bits | other.bits);
+  }
+
+  /**
+   * creates a mask that contains the slots of {@code this} and the given slot.
+   *
+   * @param index the slot index to add.
+   *
+   * @return a mask that contains the slot.
+   */
+  @NotNull
+  public SlotMask with(final int index) {
+    Preconditions.checkElementIndex(index, SlotMask.SIZE, "The slot must be between 0 and the slot count");
+    return SlotMask.of(this.bits | 1L << index);
+  }
+
+  /**
+   * creates a mask that contains the slots of {@code this} and the given slot.
+   *
+   * @param row the row of the slot.
+   * @param column the column of the slot.
+   *
+   * @return a mask that contains the slot.
+   */
+  @NotNull
+  public SlotMask with(final int row, final int column) {
+    return this.with(row, column, SlotMask.COLUMNS);
+  }
+
+  /**
+   * creates a mask that contains the slots of {@code this} and the given slot.
+   *
+   * @param row the row of the slot.
+   * @param column the column of the slot.
+   * @param columns the column count of the inventory.
+   *
+   * @return a mask that contains the slot.
+   */
+  @NotNull
+  public SlotMask with(final int row, final int column, final int columns) {
+    SlotMask.checkPosition(row, column, columns);
+    return this.with(row * columns + column);
+  }
+
+  /**
+   * creates a mask that contains the slots of {@code this} except the given slot.
+   *
+   * @param index the slot index to remove.
+   *
+   * @return a mask that does not contain the slot.
+   */
+  @NotNull
+  public SlotMask without(final int index) {
+    if (!this.contains(index)) {
+      return this;
+    }
+    return SlotMask.of(this.bits & ~(1L << index));
+  }
+
+  /**
+   * creates a mask that contains the slots of {@code this} except the given slot.
+   *
+   * @param row the row of the slot.
+   * @param column the column of the slot.
+   *
+   * @return a mask that does not contain the slot.
+   */
+  @NotNull
+  public SlotMask without(final int row, final int column) {
+    return this.without(row, column, SlotMask.COLUMNS);
+  }
+
+  /**
+   * creates a mask that contains the slots of {@code this} except the given slot.
+   *
+   * @param row the row of the slot.
+   * @param column the column of the slot.
+   * @param columns the column count of the inventory.
+   *
+   * @return a mask that does not contain the slot.
+   */
+  @NotNull
+  public SlotMask without(final int row, final int column, final int columns) {
+    if (column < 0 || column >= columns) {
+      return this;
+    }
+    return this.without(row * columns + column);
+  }
+}
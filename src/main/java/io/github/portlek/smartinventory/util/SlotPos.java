@@ -34,6 +34,9 @@ import org.jetbrains.annotations.NotNull;
 
 /**
  * represents the position (row + column) of a slot in an inventory.
+ * <p>
+ * the positions of a chest inventory are cached, so {@link #of(int, int)} does not allocate for them. the positions
+ * can be packed into a single int with {@link #pack(int, int)} to use them in hot loops without any object.
  */
 @Getter
 @ToString
@@ -41,6 +44,21 @@ import org.jetbrains.annotations.NotNull;
 @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
 public final class SlotPos {
 
+  /**
+   * the cached positions, indexed by the slot index of a chest inventory.
+   */
+  private static final SlotPos[] CACHE = new SlotPos[SlotMask.SIZE];
+
+  /**
+   * the bit count of the packed column.
+   */
+  private static final int COLUMN_BITS = 16;
+
+  /**
+   * the bit mask of the packed column.
+   */
+  private static final int COLUMN_MASK = (1 << SlotPos.COLUMN_BITS) - 1;
+
   /**
    * the column.
    */
@@ -51,16 +69,87 @@ public final class SlotPos {
    */
   private final int row;
 
+  static {
+    for (var index = 0; index < SlotPos.CACHE.length; index++) {
+      SlotPos.CACHE[index] = new SlotPos(index % SlotMask.COLUMNS, index / SlotMask.COLUMNS);
+    }
+  }
+
   /**
-   * creates a simple slot position instance.
+   * obtains a slot position instance.
+   * <p>
+   * the positions of a chest inventory are shared instances.
    *
    * @param row the row to create.
    * @param column the column to create.
    *
-   * @return a simple slot position instance.
+   * @return a slot position instance.
    */
   @NotNull
   public static SlotPos of(final int row, final int column) {
+    if (row >= 0 && row < SlotMask.ROWS && column >= 0 && column < SlotMask.COLUMNS) {
+      return SlotPos.CACHE[row * SlotMask.COLUMNS + column];
+    }
     return new SlotPos(column, row);
   }
+
+  /**
+   * packs the given row and column into a single int.
+   * <p>
+   * the row and column must be between 0 and 65535, so {@code -1} never is a packed position and can be used for a
+   * missing one.
+   *
+   * @param row the row to pack.
+   * @param column the column to pack.
+   *
+   * @return the packed position.
+   */
+  public static int pack(final int row, final int column) {
+    return row << SlotPos.COLUMN_BITS | column & SlotPos.COLUMN_MASK;
+  }
+
+  /**
+   * obtains a slot position instance from the given packed position.
+   *
+   * @param packed the packed position.
+   *
+   * @return a slot position instance.
+   */
+  @NotNull
+  public static SlotPos unpack(final int packed) {
+    return SlotPos.of(SlotPos.unpackRow(packed), SlotPos.unpackColumn(packed));
+  }
+
+  /**
+   * gets the column of the given packed position.
+   *
+   * @param packed the packed position.
+   *
+   * @return the column.
+   */
+  public static int unpackColumn(final int packed) {
+    return packed & SlotPos.COLUMN_MASK;
+  }
+
+  /**
+   * gets the row of the given packed position.
+   *
+   * @param packed the packed position.
+   *
+   * @return the row.
+   */
+  public static int unpackRow(final int packed) {
+    return packed >>> SlotPos.COLUMN_BITS;
+  }
+
+  /**
+   * packs {@code this} into a single int.
+   *
+   * @return the packed position.
+   *
+   * @see #pack(int, int)
+   */
+  public int pack() {
+    return SlotPos.pack(this.row, this.column);
+  }
 }
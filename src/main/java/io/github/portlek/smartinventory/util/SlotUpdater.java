@@ -0,0 +1,150 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 Hasan Demirtaş
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package io.github.portlek.smartinventory.util;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.EnumSet;
+import java.util.Set;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.InventoryAction;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * an utility class that helps to resync the slots of pages after cancelled clicks.
+ * <p>
+ * instead of {@link Player#updateInventory()} which sends the whole window and the player inventory, only the clicked
+ * slot and the cursor are sent. the actions which could touch multiple slots still use a full update.
+ */
+public final class SlotUpdater {
+
+  /**
+   * the actions which could touch more than the clicked slot and the cursor.
+   */
+  private static final Set<InventoryAction> FULL_UPDATE_ACTIONS = EnumSet.of(
+    InventoryAction.COLLECT_TO_CURSOR,
+    InventoryAction.HOTBAR_MOVE_AND_READD,
+    InventoryAction.HOTBAR_SWAP,
+    InventoryAction.MOVE_TO_OTHER_INVENTORY,
+    InventoryAction.UNKNOWN);
+
+  /**
+   * the active container field.
+   */
+  @Nullable
+  private static Field activeContainerField;
+
+  /**
+   * the as nms copy.
+   */
+  @Nullable
+  private static Method asNMSCopy;
+
+  /**
+   * the get handle.
+   */
+  @Nullable
+  private static Method getHandle;
+
+  /**
+   * the packet play out set slot constructor.
+   */
+  @Nullable
+  private static Constructor<?> packetPlayOutSetSlotConstructor;
+
+  /**
+   * the window id field.
+   */
+  @Nullable
+  private static Field windowIdField;
+
+  static {
+    try {
+      final var craftPlayer = ReflectionUtils.getCraftClass("entity.CraftPlayer");
+      final var craftItemStack = ReflectionUtils.getCraftClass("inventory.CraftItemStack");
+      final var entityPlayer = ReflectionUtils.getNMSClass("EntityPlayer");
+      final var container = ReflectionUtils.getNMSClass("Container");
+      final var itemStack = ReflectionUtils.getNMSClass("ItemStack");
+      final var packetPlayOutSetSlot = ReflectionUtils.getNMSClass("PacketPlayOutSetSlot");
+      if (craftPlayer != null && craftItemStack != null && entityPlayer != null && container != null &&
+        itemStack != null && packetPlayOutSetSlot != null) {
+        SlotUpdater.getHandle = craftPlayer.getMethod("getHandle");
+        SlotUpdater.asNMSCopy = craftItemStack.getMethod("asNMSCopy", ItemStack.class);
+        SlotUpdater.activeContainerField = entityPlayer.getField("activeContainer");
+        SlotUpdater.windowIdField = container.getField("windowId");
+        SlotUpdater.packetPlayOutSetSlotConstructor = packetPlayOutSetSlot.getConstructor(int.class, int.class,
+          itemStack);
+      }
+    } catch (final NoSuchMethodException | NoSuchFieldException | LinkageError exception) {
+      exception.printStackTrace();
+    }
+  }
+
+  /**
+   * ctor.
+   */
+  private SlotUpdater() {
+  }
+
+  /**
+   * resyncs the clicked slot and the cursor of the given click event.
+   * <p>
+   * if the click action could touch multiple slots, the packets are not supported by the server version, or the
+   * player's open view is not the clicked view anymore, such as after a click handler opened another page or closed
+   * the menu, the whole inventory of the player is updated. otherwise the clicked slot would be sent into the window
+   * which is open now.
+   *
+   * @param player the player to resync.
+   * @param event the click event to resync.
+   */
+  public static void resync(@NotNull final Player player, @NotNull final InventoryClickEvent event) {
+    if (SlotUpdater.FULL_UPDATE_ACTIONS.contains(event.getAction()) ||
+      SlotUpdater.packetPlayOutSetSlotConstructor == null ||
+      player.getOpenInventory() != event.getView()) {
+      player.updateInventory();
+      return;
+    }
+    try {
+      final var entityPlayer = SlotUpdater.getHandle.invoke(player);
+      final var activeContainer = SlotUpdater.activeContainerField.get(entityPlayer);
+      final var windowId = (Integer) SlotUpdater.windowIdField.get(activeContainer);
+      final var rawSlot = event.getRawSlot();
+      final var slot = SlotUpdater.packetPlayOutSetSlotConstructor.newInstance(windowId, rawSlot,
+        SlotUpdater.asNMSCopy.invoke(null, event.getView().getItem(rawSlot)));
+      final var cursor = SlotUpdater.packetPlayOutSetSlotConstructor.newInstance(-1, -1,
+        SlotUpdater.asNMSCopy.invoke(null, event.getView().getCursor()));
+      if (!ReflectionUtils.trySendPacketSync(player, slot, cursor)) {
+        player.updateInventory();
+      }
+    } catch (final Exception exception) {
+      player.updateInventory();
+    }
+  }
+}